@@ -0,0 +1,65 @@
+package ru.otus.istyazhkina.library.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookJsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int size;
+
+    private List<Book> books;
+    private List<BookDTO> bookDTOs;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BookDTO.class));
+        books = IntStream.range(0, size)
+                .mapToObj(i -> new Book(String.valueOf(i), "Title " + i,
+                        new Author("a" + i, "Name " + i, "Surname " + i),
+                        new Genre("g" + i, "Genre " + i)))
+                .collect(Collectors.toList());
+        bookDTOs = books.stream().map(BookDTO::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeBookDTOs() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookDTOs);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeBooks() throws JsonProcessingException {
+        return writer.writeValueAsBytes(books.stream().map(BookDTO::toDto).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.otus.istyazhkina.library.benchmarks;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+import ru.otus.istyazhkina.library.repository.BookDTOCodec;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private final Author author = new Author("12345", "Lev", "Tolstoy");
+    private final Genre genre = new Genre("2134", "novel");
+    private final Book book = new Book("45632", "War and Peace", author, genre);
+    private final AuthorDTO authorDTO = AuthorDTO.toDto(author);
+    private final GenreDTO genreDTO = GenreDTO.toDto(genre);
+    private final BookDTO bookDTO = BookDTO.toDto(book);
+    private final MappingMongoConverter converter = converter();
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private final BookDTOCodec bookDTOCodec = new BookDTOCodec();
+    private final RawBsonDocument rawBook = rawBook();
+
+    @Benchmark
+    public BookDTO bookToDto() {
+        return BookDTO.toDto(book);
+    }
+
+    @Benchmark
+    public Book dtoToBook() {
+        return BookDTO.toBook(bookDTO);
+    }
+
+    @Benchmark
+    public AuthorDTO authorToDto() {
+        return AuthorDTO.toDto(author);
+    }
+
+    @Benchmark
+    public Author dtoToAuthor() {
+        return AuthorDTO.toAuthor(authorDTO);
+    }
+
+    @Benchmark
+    public GenreDTO genreToDto() {
+        return GenreDTO.toDto(genre);
+    }
+
+    @Benchmark
+    public Genre dtoToGenre() {
+        return GenreDTO.toGenre(genreDTO);
+    }
+
+    @Benchmark
+    public BookDTO decodeBookWithConverter() {
+        return BookDTO.toDto(converter.read(Book.class, rawBook.decode(documentCodec)));
+    }
+
+    @Benchmark
+    public BookDTO decodeBookWithCodec() {
+        return rawBook.decode(bookDTOCodec);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private RawBsonDocument rawBook() {
+        Document document = new Document();
+        converter.write(book, document);
+        return new RawBsonDocument(document, documentCodec);
+    }
+}
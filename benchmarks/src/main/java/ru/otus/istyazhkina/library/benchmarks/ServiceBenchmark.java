@@ -0,0 +1,118 @@
+package ru.otus.istyazhkina.library.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import ru.otus.istyazhkina.library.LibraryApplication;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.AuthorRepository;
+import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+import ru.otus.istyazhkina.library.repository.GenreRepository;
+import ru.otus.istyazhkina.library.service.BookService;
+import ru.otus.istyazhkina.library.service.CommentService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the services against an embedded MongoDB started by Spring Boot's flapdoodle auto-configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int COMMENTS_PER_BOOK = 20;
+
+    @Param({"1000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private CommentService commentService;
+    private List<String> bookIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryApplication.class)
+                .properties("server.port=0",
+                        "spring.data.mongodb.host=localhost",
+                        "spring.data.mongodb.port=0",
+                        "logging.level.root=WARN")
+                .run();
+        bookService = context.getBean(BookService.class);
+        commentService = context.getBean(CommentService.class);
+        bookIds = seed(context.getBean(AuthorRepository.class), context.getBean(GenreRepository.class),
+                context.getBean(BookRepository.class), context.getBean(CommentRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<BookDTO> getFirstBooksPage() {
+        return bookService.getBooksPage(null, 50);
+    }
+
+    @Benchmark
+    public Book getBookById() throws DataOperationException {
+        return bookService.getBookById(randomBookId());
+    }
+
+    @Benchmark
+    public Slice<CommentDTO> getFirstCommentsPage() throws DataOperationException {
+        return commentService.getCommentsPage(randomBookId(), null, 50);
+    }
+
+    private String randomBookId() {
+        return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+    }
+
+    private List<String> seed(AuthorRepository authorRepository, GenreRepository genreRepository,
+                              BookRepository bookRepository, CommentRepository commentRepository) {
+        Author author = authorRepository.save(new Author("Benchmark", "Author"));
+        Genre genre = genreRepository.save(new Genre("benchmark"));
+        List<Book> newBooks = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            newBooks.add(new Book("Benchmark book " + i, author, genre));
+        }
+        List<Book> savedBooks = bookRepository.saveAll(newBooks);
+        List<Comment> comments = new ArrayList<>(books * COMMENTS_PER_BOOK);
+        List<String> ids = new ArrayList<>(books);
+        for (Book book : savedBooks) {
+            ids.add(book.getId());
+            for (int i = 0; i < COMMENTS_PER_BOOK; i++) {
+                comments.add(new Comment("Comment " + i, book));
+            }
+        }
+        commentRepository.saveAll(comments);
+        return ids;
+    }
+}
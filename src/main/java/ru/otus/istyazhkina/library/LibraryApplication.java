@@ -4,10 +4,12 @@ import com.github.cloudyrock.spring.v5.EnableMongock;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.circuitbreaker.EnableCircuitBreaker;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableMongock
 @EnableCircuitBreaker
+@EnableScheduling
 public class LibraryApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,243 @@
+package ru.otus.istyazhkina.library.catalog;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Denormalized counters stored in the catalog documents: {@code commentCount} of a book and {@code bookCount} of
+ * an author and a genre.
+ * <p>
+ * The counters are changed with {@code $inc} after the write they follow and are not part of it, so a failure in
+ * between leaves them off. {@link #reconcile()} recounts them from the book and comment collections on the
+ * scheduler, shortly after startup and then periodically, so a large catalog does not hold up the start. Until the
+ * first run a missing counter reads as zero and the delete guards fall back to existence queries. The recount also
+ * removes comments whose book no longer exists, left behind by a failed or dropped asynchronous comment cleanup.
+ * <p>
+ * They are not mapped onto the entities: authors and genres are embedded into books, and a mapped counter would be
+ * copied into every embedded copy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogCounters {
+
+    public static final String COMMENT_COUNT = "commentCount";
+    public static final String BOOK_COUNT = "bookCount";
+
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public void bookAdded(String authorId, String genreId) {
+        increment(Author.class, BOOK_COUNT, authorId, 1);
+        increment(Genre.class, BOOK_COUNT, genreId, 1);
+    }
+
+    /**
+     * Counts books inserted in bulk with one unordered {@code $inc} bulk write per collection.
+     */
+    public void booksAdded(Collection<Book> books) {
+        incrementAll(Author.class, BOOK_COUNT, countBy(books, Book::getAuthor, Author::getId));
+        incrementAll(Genre.class, BOOK_COUNT, countBy(books, Book::getGenre, Genre::getId));
+    }
+
+    public void bookRemoved(String authorId, String genreId) {
+        increment(Author.class, BOOK_COUNT, authorId, -1);
+        increment(Genre.class, BOOK_COUNT, genreId, -1);
+    }
+
+    public void bookMoved(String fromAuthorId, String fromGenreId, String toAuthorId, String toGenreId) {
+        if (!Objects.equals(fromAuthorId, toAuthorId)) {
+            increment(Author.class, BOOK_COUNT, fromAuthorId, -1);
+            increment(Author.class, BOOK_COUNT, toAuthorId, 1);
+        }
+        if (!Objects.equals(fromGenreId, toGenreId)) {
+            increment(Genre.class, BOOK_COUNT, fromGenreId, -1);
+            increment(Genre.class, BOOK_COUNT, toGenreId, 1);
+        }
+    }
+
+    public void commentAdded(String bookId) {
+        increment(Book.class, COMMENT_COUNT, bookId, 1);
+    }
+
+    public void commentRemoved(String bookId) {
+        increment(Book.class, COMMENT_COUNT, bookId, -1);
+    }
+
+    public long bookCountOfAuthor(String authorId) {
+        return read(Author.class, BOOK_COUNT, authorId);
+    }
+
+    public long bookCountOfGenre(String genreId) {
+        return read(Genre.class, BOOK_COUNT, genreId);
+    }
+
+    public long commentCountOfBook(String bookId) {
+        return read(Book.class, COMMENT_COUNT, bookId);
+    }
+
+    /**
+     * Recounts all counters and rewrites the ones that differ. A counter changed while it is recounted is left as is
+     * until the next run.
+     */
+    @Scheduled(fixedDelayString = "${library.counters.reconcile-interval:PT1H}",
+            initialDelayString = "${library.counters.reconcile-initial-delay:PT30S}")
+    public void reconcile() {
+        Map<String, Long> commentsByBook = count(Comment.class, "bookId");
+        long corrected = correct(Author.class, BOOK_COUNT, count(Book.class, "author._id"))
+                + correct(Genre.class, BOOK_COUNT, count(Book.class, "genre._id"))
+                + correct(Book.class, COMMENT_COUNT, commentsByBook);
+        if (corrected > 0) {
+            log.warn("Corrected {} catalog counters", corrected);
+        }
+        // the comments were counted before the books were scanned, so a book left unmatched had been deleted
+        long orphaned = deleteComments(commentsByBook.keySet());
+        if (orphaned > 0) {
+            log.warn("Deleted {} comments of deleted books", orphaned);
+        }
+    }
+
+    private Map<String, Long> count(Class<?> referencingClass, String reference) {
+        Map<String, Long> actual = new HashMap<>();
+        mongoTemplate.execute(referencingClass, collection -> {
+            collection.aggregate(List.of(Aggregates.group("$" + reference, Accumulators.sum("count", 1))))
+                    .forEach(group -> {
+                        if (group.get("_id") != null) {
+                            actual.merge(group.get("_id").toString(), ((Number) group.get("count")).longValue(), Long::sum);
+                        }
+                    });
+            return null;
+        });
+        return actual;
+    }
+
+    /**
+     * Rewrites the counters that differ from the actual counts and removes every scanned document from them.
+     */
+    private long correct(Class<?> countedClass, String counter, Map<String, Long> actual) {
+        return mongoTemplate.execute(countedClass, collection -> {
+            long corrected = 0;
+            List<WriteModel<Document>> corrections = new ArrayList<>();
+            try (MongoCursor<Document> documents = collection.find().projection(Projections.include(counter)).iterator()) {
+                while (documents.hasNext()) {
+                    Document document = documents.next();
+                    Long count = actual.remove(document.get("_id").toString());
+                    long expected = count == null ? 0 : count;
+                    Object current = document.get(counter);
+                    if (!(current instanceof Number) || ((Number) current).longValue() != expected) {
+                        // compare-and-set, so an $inc that lands after the scan is not overwritten
+                        Bson unchanged = document.containsKey(counter) ? Filters.eq(counter, current) : Filters.exists(counter, false);
+                        corrections.add(new UpdateOneModel<>(Filters.and(Filters.eq("_id", document.get("_id")), unchanged),
+                                Updates.set(counter, expected)));
+                    }
+                    if (corrections.size() == RECONCILE_BATCH_SIZE) {
+                        corrected += write(collection, corrections);
+                    }
+                }
+            }
+            return corrected + write(collection, corrections);
+        });
+    }
+
+    private long deleteComments(Collection<String> bookIds) {
+        List<String> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+        long deleted = 0;
+        for (String bookId : bookIds) {
+            batch.add(bookId);
+            if (batch.size() == RECONCILE_BATCH_SIZE) {
+                deleted += deleteCommentsOfBooks(batch);
+            }
+        }
+        return deleted + deleteCommentsOfBooks(batch);
+    }
+
+    private long deleteCommentsOfBooks(List<String> bookIds) {
+        if (bookIds.isEmpty()) {
+            return 0;
+        }
+        long deleted = mongoTemplate.execute(Comment.class, collection -> collection.deleteMany(Filters.in("bookId", bookIds)))
+                .getDeletedCount();
+        bookIds.clear();
+        return deleted;
+    }
+
+    private static long write(MongoCollection<Document> collection, List<WriteModel<Document>> corrections) {
+        if (corrections.isEmpty()) {
+            return 0;
+        }
+        long written = collection.bulkWrite(corrections, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        corrections.clear();
+        return written;
+    }
+
+    private void increment(Class<?> entityClass, String counter, String id, long delta) {
+        if (id == null) {
+            return;
+        }
+        mongoTemplate.execute(entityClass, collection -> collection.updateOne(Filters.eq("_id", toId(id)), Updates.inc(counter, delta)));
+    }
+
+    private void incrementAll(Class<?> entityClass, String counter, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<WriteModel<Document>> increments = deltas.entrySet().stream()
+                .map(delta -> new UpdateOneModel<Document>(Filters.eq("_id", toId(delta.getKey())), Updates.inc(counter, delta.getValue())))
+                .collect(Collectors.toList());
+        mongoTemplate.execute(entityClass, collection -> collection.bulkWrite(increments, new BulkWriteOptions().ordered(false)));
+    }
+
+    private static <T> Map<String, Long> countBy(Collection<Book> books, Function<Book, T> reference, Function<T, String> idFunction) {
+        return books.stream()
+                .map(reference)
+                .filter(Objects::nonNull)
+                .map(idFunction)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private long read(Class<?> entityClass, String counter, String id) {
+        if (id == null) {
+            return 0;
+        }
+        Document document = mongoTemplate.execute(entityClass, collection -> collection.find(Filters.eq("_id", toId(id)))
+                .projection(Projections.include(counter))
+                .first());
+        Object value = document == null ? null : document.get(counter);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.otus.istyazhkina.library.catalog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-collection version counters behind the catalog ETags.
+ * <p>
+ * A catalog is bumped after every write to its collection, so a version read before querying Mongo never
+ * describes newer data than the response carries. The counters live in this process only: like the entity
+ * caches they assume every write goes through this instance. ETags include the start time of the process so
+ * they are never reused after a restart.
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Catalog {
+        AUTHORS, GENRES, BOOKS
+    }
+
+    /**
+     * Cache-Control for responses carrying a catalog ETag. Without an explicit value Spring Security sends
+     * {@code no-store}, and browsers never revalidate what they did not store.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final Clock clock;
+    private final String epoch;
+    private final Map<Catalog, AtomicReference<Version>> versions = new EnumMap<>(Catalog.class);
+
+    public CatalogVersions() {
+        this(Clock.systemUTC());
+    }
+
+    CatalogVersions(Clock clock) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), Character.MAX_RADIX);
+        for (Catalog catalog : Catalog.values()) {
+            versions.put(catalog, new AtomicReference<>(version(catalog, 0, clock.millis())));
+        }
+    }
+
+    public Version current(Catalog catalog) {
+        return versions.get(catalog).get();
+    }
+
+    public void bump(Catalog catalog) {
+        long now = clock.millis();
+        versions.get(catalog).updateAndGet(version -> version(catalog, version.counter + 1, Math.max(now, version.lastModified)));
+    }
+
+    private Version version(Catalog catalog, long counter, long lastModified) {
+        String eTag = "\"" + catalog.name().toLowerCase(Locale.ROOT) + "-" + epoch + "-" + counter + "\"";
+        return new Version(counter, lastModified, eTag);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Version {
+        private final long counter;
+        private final long lastModified;
+        private final String eTag;
+    }
+}
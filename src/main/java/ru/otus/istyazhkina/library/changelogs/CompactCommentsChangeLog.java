@@ -0,0 +1,66 @@
+package ru.otus.istyazhkina.library.changelogs;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ChangeLog(order = "002")
+public class CompactCommentsChangeLog {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String LEGACY_BOOK_INDEX_KEY = "book._id";
+
+    @ChangeSet(order = "001", id = "compactComments", author = "irinastyazhkina")
+    public void compactComments(MongoDatabase mongoDatabase) {
+        MongoCollection<Document> comments = mongoDatabase.getCollection("comment");
+        List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+        try (MongoCursor<Document> cursor = comments.find(Filters.exists("book"))
+                .projection(Projections.include("book._id", "book.title"))
+                .batchSize(BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(toCompactComment(cursor.next()));
+                if (batch.size() == BATCH_SIZE) {
+                    comments.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            comments.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        }
+        dropLegacyBookIndex(comments);
+    }
+
+    private static WriteModel<Document> toCompactComment(Document comment) {
+        Document book = comment.get("book", Document.class);
+        return new UpdateOneModel<>(
+                Filters.eq("_id", comment.get("_id")),
+                Updates.combine(
+                        Updates.set("bookId", book.get("_id").toString()),
+                        Updates.set("bookTitle", book.getString("title")),
+                        Updates.unset("book")));
+    }
+
+    private static void dropLegacyBookIndex(MongoCollection<Document> comments) {
+        List<String> legacyIndexes = new ArrayList<>();
+        for (Document index : comments.listIndexes()) {
+            if (index.get("key", Document.class).containsKey(LEGACY_BOOK_INDEX_KEY)) {
+                legacyIndexes.add(index.getString("name"));
+            }
+        }
+        legacyIndexes.forEach(comments::dropIndex);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.otus.istyazhkina.library.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String AUTHORS_CACHE = "authors";
+    public static final String GENRES_CACHE = "genres";
+}
@@ -0,0 +1,25 @@
+package ru.otus.istyazhkina.library.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import ru.otus.istyazhkina.library.rest.limit.ConcurrencyLimitFilter;
+import ru.otus.istyazhkina.library.rest.limit.ConcurrencyLimitProperties;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "library.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties.getGroups()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,115 @@
+package ru.otus.istyazhkina.library.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition.TextIndexDefinitionBuilder;
+import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.entity.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes backing repository queries and logs which queries they cover.
+ * <p>
+ * Indexes are declared here rather than with {@code @Indexed} on the entities because {@link Author} and
+ * {@link Genre} are embedded into {@link Book}: annotation based resolution would also create their unique
+ * indexes on the embedded copies in the book collection. They are created after all singletons are
+ * instantiated, i.e. after Mongock has run its changesets, which may drop the database.
+ * <p>
+ * MongoDB allows a single text index per collection, so every field searched by {@code $text} in a
+ * collection has to be part of its one text index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexesInitializer implements SmartInitializingSingleton {
+
+    private static final List<IndexDeclaration> INDEXES = List.of(
+            new IndexDeclaration(Book.class, new Index().on("title", Sort.Direction.ASC).named("title")),
+            new IndexDeclaration(Book.class, new Index().on("author._id", Sort.Direction.ASC).named("author_id")),
+            new IndexDeclaration(Book.class, new Index().on("genre._id", Sort.Direction.ASC).named("genre_id")),
+            new IndexDeclaration(Comment.class, new Index().on("bookId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("bookId_id")),
+            new IndexDeclaration(Genre.class, new Index().on("name", Sort.Direction.ASC).unique().named("name")),
+            new IndexDeclaration(Author.class, new Index().on("name", Sort.Direction.ASC).on("surname", Sort.Direction.ASC).unique().named("name_surname")),
+            new IndexDeclaration(User.class, new Index().on("login", Sort.Direction.ASC).unique().named("login")),
+            new IndexDeclaration(Book.class, new TextIndexDefinitionBuilder()
+                    .onField("title", 3F).onField("author.name").onField("author.surname").named("book_text").build()),
+            new IndexDeclaration(Author.class, new TextIndexDefinitionBuilder()
+                    .onField("name").onField("surname").named("author_text").build()),
+            new IndexDeclaration(Comment.class, new TextIndexDefinitionBuilder()
+                    .onField("content").named("comment_text").build())
+    );
+
+    private static final List<QueryDeclaration> QUERIES = List.of(
+            new QueryDeclaration("BookRepository.findByTitle", Book.class, List.of("title")),
+            new QueryDeclaration("BookRepository.findAllByAuthorId/existsByAuthorId", Book.class, List.of("author._id")),
+            new QueryDeclaration("BookRepository.findAllByGenreId/existsByGenreId", Book.class, List.of("genre._id")),
+            new QueryDeclaration("CommentRepository.findAllByBookId/deleteAllByBookId", Comment.class, List.of("bookId")),
+            new QueryDeclaration("CommentRepository.findPageByBookId", Comment.class, List.of("bookId", "_id")),
+            new QueryDeclaration("GenreRepository.findByName/existsByName", Genre.class, List.of("name")),
+            new QueryDeclaration("AuthorRepository.findByNameAndSurname/existsByNameAndSurname", Author.class, List.of("name", "surname")),
+            new QueryDeclaration("UserRepository.findByLogin", User.class, List.of("login")),
+            new QueryDeclaration("SearchService.search (books)", Book.class, List.of("title", "author.name", "author.surname")),
+            new QueryDeclaration("SearchService.search (authors)", Author.class, List.of("name", "surname")),
+            new QueryDeclaration("SearchService.search (comments)", Comment.class, List.of("content"))
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        INDEXES.forEach(declaration -> mongoTemplate.indexOps(declaration.entityClass).ensureIndex(declaration.index));
+        QUERIES.forEach(this::reportCoverage);
+    }
+
+    private void reportCoverage(QueryDeclaration query) {
+        Optional<IndexInfo> coveringIndex = mongoTemplate.indexOps(query.entityClass).getIndexInfo().stream()
+                .filter(index -> isPrefix(query.keys, index.getIndexFields()))
+                .findFirst();
+        if (coveringIndex.isPresent()) {
+            log.info("Query {} on '{}' is covered by index '{}'", query.name, collection(query), coveringIndex.get().getName());
+        } else {
+            log.warn("Query {} on '{}' is NOT covered by any index, keys {}", query.name, collection(query), query.keys);
+        }
+    }
+
+    private String collection(QueryDeclaration query) {
+        return mongoTemplate.getCollectionName(query.entityClass);
+    }
+
+    private static boolean isPrefix(List<String> keys, List<IndexField> indexFields) {
+        if (indexFields.size() < keys.size()) {
+            return false;
+        }
+        List<String> leadingKeys = indexFields.subList(0, keys.size()).stream()
+                .map(IndexField::getKey)
+                .collect(Collectors.toList());
+        return leadingKeys.containsAll(keys);
+    }
+
+    @RequiredArgsConstructor
+    private static class IndexDeclaration {
+        private final Class<?> entityClass;
+        private final IndexDefinition index;
+    }
+
+    @RequiredArgsConstructor
+    private static class QueryDeclaration {
+        private final String name;
+        private final Class<?> entityClass;
+        private final List<String> keys;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.otus.istyazhkina.library.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread factories looked up reflectively, so the application still compiles for and runs on Java 11.
+ * Virtual threads need a Java 21 runtime; {@link #PROPERTY} turns them on.
+ */
+public final class VirtualThreads {
+
+    public static final String PROPERTY = "library.virtual-threads.enabled";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Factory of virtual threads named {@code prefix} followed by a counter.
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running on " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can not create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Executor starting a new virtual thread for every task.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory(prefix));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can not create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Single thread executor on a virtual thread when {@code virtual} is set, otherwise on a daemon platform thread.
+     */
+    public static ExecutorService newSingleThreadExecutor(String name, boolean virtual) {
+        if (virtual) {
+            return Executors.newSingleThreadExecutor(factory(name + "-"));
+        }
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
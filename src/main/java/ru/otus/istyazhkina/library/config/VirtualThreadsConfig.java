@@ -0,0 +1,50 @@
+package ru.otus.istyazhkina.library.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs Tomcat request handling and the application task executor on virtual threads.
+ * <p>
+ * Handlers block on the synchronous Mongo driver; on virtual threads a blocked request parks instead of holding
+ * one of a fixed number of platform threads, so concurrency is bounded by Tomcat's connection limit, the Hystrix
+ * semaphores and the concurrency limit filter rather than by a worker pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = VirtualThreads.PROPERTY, havingValue = "true")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException(VirtualThreads.PROPERTY + " is set, but virtual threads require Java 21 or later, running on "
+                    + System.getProperty("java.version"));
+        }
+        log.info("Handling requests on virtual threads");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME}, destroyMethod = "")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new ConcurrentTaskExecutor(taskExecutorService());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService taskExecutorService() {
+        return VirtualThreads.newThreadPerTaskExecutor("task-vt-");
+    }
+}
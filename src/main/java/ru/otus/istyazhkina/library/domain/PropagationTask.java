@@ -0,0 +1,51 @@
+package ru.otus.istyazhkina.library.domain;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+public class PropagationTask {
+
+    public enum Source {
+        AUTHOR, GENRE, BOOK
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Source source;
+    private final String sourceId;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int attempts;
+    private volatile long modified;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public PropagationTask(Source source, String sourceId) {
+        this.source = source;
+        this.sourceId = sourceId;
+    }
+
+    public void started() {
+        status = Status.RUNNING;
+        attempts++;
+    }
+
+    public void completed(long modified) {
+        this.modified = modified;
+        this.finishedAt = Instant.now();
+        this.status = Status.DONE;
+    }
+
+    public void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
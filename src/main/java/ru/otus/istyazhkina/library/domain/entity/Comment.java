@@ -22,17 +22,25 @@ public class Comment {
     @Field(name = "content")
     private String content;
 
-    private Book book;
+    @Field(name = "bookId")
+    private String bookId;
 
-    public Comment(String id, String content, Book book) {
+    @Field(name = "bookTitle")
+    private String bookTitle;
+
+    public Comment(String id, String content, String bookId, String bookTitle) {
         this.id = id;
         this.content = content;
-        this.book = book;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+    }
+
+    public Comment(String id, String content, Book book) {
+        this(id, content, book.getId(), book.getTitle());
     }
 
     public Comment(String content, Book book) {
-        this.content = content;
-        this.book = book;
+        this(null, content, book);
     }
 
     @Override
@@ -42,16 +50,17 @@ public class Comment {
         Comment comment = (Comment) o;
         return Objects.equals(id, comment.id) &&
                 Objects.equals(content, comment.content) &&
-                Objects.equals(book, comment.book);
+                Objects.equals(bookId, comment.bookId) &&
+                Objects.equals(bookTitle, comment.bookTitle);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, content, book);
+        return Objects.hash(id, content, bookId, bookTitle);
     }
 
     @Override
     public String toString() {
-        return String.format("%s\t|\t%s\t|\t%s", id, content, book.getTitle());
+        return String.format("%s\t|\t%s\t|\t%s", id, content, bookTitle);
     }
 }
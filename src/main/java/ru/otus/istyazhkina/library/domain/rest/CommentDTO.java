@@ -0,0 +1,24 @@
+package ru.otus.istyazhkina.library.domain.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class CommentDTO {
+
+    private String id;
+    private String content;
+    private String bookId;
+
+    public static CommentDTO toDto(Comment comment) {
+        return new CommentDTO(comment.getId(), comment.getContent(), comment.getBookId());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.otus.istyazhkina.library.domain.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class ImportReportDTO {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long total;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowRead() {
+        total++;
+    }
+
+    public void rowsImported(long count) {
+        imported += count;
+    }
+
+    public void rowFailed(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.otus.istyazhkina.library.domain.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class SearchHitDTO {
+
+    public enum Type {
+        BOOK, AUTHOR, COMMENT
+    }
+
+    private Type type;
+    private String id;
+    private String bookId;
+    private String text;
+    private String highlight;
+    private double score;
+}
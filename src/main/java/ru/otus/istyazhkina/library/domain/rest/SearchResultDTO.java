@@ -0,0 +1,23 @@
+package ru.otus.istyazhkina.library.domain.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class SearchResultDTO {
+
+    private String query;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<SearchHitDTO> hits;
+}
@@ -0,0 +1,26 @@
+package ru.otus.istyazhkina.library.faults;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+public class FaultInjectionConfig {
+
+    public static final String PROFILE = "fault-injection";
+
+    @Bean
+    @Profile(PROFILE)
+    public FaultInjector randomFaultInjector(FaultInjectionProperties properties) {
+        return new RandomFaultInjector(properties);
+    }
+
+    @Bean
+    @Profile("!" + PROFILE)
+    public FaultInjector noFaultInjector() {
+        return commandKey -> {
+        };
+    }
+}
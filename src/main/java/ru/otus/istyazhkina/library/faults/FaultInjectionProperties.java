@@ -0,0 +1,26 @@
+package ru.otus.istyazhkina.library.faults;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties("library.fault-injection")
+public class FaultInjectionProperties {
+
+    private Map<String, CommandFaults> commands = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class CommandFaults {
+        private double latencyProbability;
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double errorProbability;
+    }
+}
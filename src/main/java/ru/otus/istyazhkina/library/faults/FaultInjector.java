@@ -0,0 +1,6 @@
+package ru.otus.istyazhkina.library.faults;
+
+public interface FaultInjector {
+
+    void inject(String commandKey);
+}
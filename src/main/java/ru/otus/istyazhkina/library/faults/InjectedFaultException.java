@@ -0,0 +1,8 @@
+package ru.otus.istyazhkina.library.faults;
+
+public class InjectedFaultException extends RuntimeException {
+
+    public InjectedFaultException(String commandKey) {
+        super("Injected fault for command " + commandKey);
+    }
+}
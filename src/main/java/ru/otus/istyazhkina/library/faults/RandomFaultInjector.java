@@ -0,0 +1,40 @@
+package ru.otus.istyazhkina.library.faults;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@RequiredArgsConstructor
+public class RandomFaultInjector implements FaultInjector {
+
+    private final FaultInjectionProperties properties;
+
+    @Override
+    public void inject(String commandKey) {
+        FaultInjectionProperties.CommandFaults faults = properties.getCommands().get(commandKey);
+        if (faults == null) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < faults.getLatencyProbability()) {
+            sleep(latencyMillis(faults, random));
+        }
+        if (random.nextDouble() < faults.getErrorProbability()) {
+            throw new InjectedFaultException(commandKey);
+        }
+    }
+
+    private static long latencyMillis(FaultInjectionProperties.CommandFaults faults, ThreadLocalRandom random) {
+        long min = faults.getMinLatency().toMillis();
+        long max = faults.getMaxLatency().toMillis();
+        return max > min ? random.nextLong(min, max + 1) : min;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
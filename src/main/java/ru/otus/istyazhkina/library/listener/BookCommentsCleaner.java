@@ -0,0 +1,86 @@
+package ru.otus.istyazhkina.library.listener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.config.VirtualThreads;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes the comments of a deleted book, on a background thread when {@code library.comments.async-cleanup} is on.
+ * An asynchronous cleanup that fails or is still queued at shutdown is not retried here: the next
+ * {@link ru.otus.istyazhkina.library.catalog.CatalogCounters#reconcile()} removes the comments it left behind.
+ */
+@Slf4j
+@Component
+public class BookCommentsCleaner {
+
+    public static final String PENDING_GAUGE = "library.comments.cleanup.pending";
+
+    private final CommentRepository commentRepository;
+    private final ExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public BookCommentsCleaner(CommentRepository commentRepository,
+                               ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${library.comments.async-cleanup:false}") boolean async,
+                               @Value("${" + VirtualThreads.PROPERTY + ":false}") boolean virtualThreads) {
+        this.commentRepository = commentRepository;
+        this.executor = async ? VirtualThreads.newSingleThreadExecutor("comments-cleanup", virtualThreads) : null;
+        meterRegistry.ifAvailable(registry -> Gauge.builder(PENDING_GAUGE, pending, AtomicInteger::get)
+                .description("Book comment cleanups waiting to be executed")
+                .register(registry));
+    }
+
+    public void deleteCommentsOf(String bookId) {
+        if (executor == null) {
+            delete(bookId);
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    delete(bookId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to delete comments of book {}, the next counter reconcile removes them", bookId, e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            delete(bookId);
+        }
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} comment cleanups were not finished before shutdown, the next counter reconcile removes them", pending.get());
+            executor.shutdownNow();
+        }
+    }
+
+    private void delete(String bookId) {
+        long deleted = commentRepository.deleteAllByBookId(bookId);
+        log.debug("Deleted {} comments of book {}", deleted, bookId);
+    }
+}
@@ -2,22 +2,35 @@ package ru.otus.istyazhkina.library.listener;
 
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
 import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
-import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
 import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
-import ru.otus.istyazhkina.library.repository.AuthorRepository;
 import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.suggest.AuthorSuggestions;
+
+import java.util.Optional;
+
+import static ru.otus.istyazhkina.library.config.CacheConfig.AUTHORS_CACHE;
 
 @Component
 @RequiredArgsConstructor
 public class MongoAuthorOperationsEventListener extends AbstractMongoEventListener<Author> {
 
     private final BookRepository bookRepository;
-    private final AuthorRepository authorRepository;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
+    private final AuthorSuggestions authorSuggestions;
 
     @Override
     public void onBeforeDelete(BeforeDeleteEvent<Author> event) {
@@ -25,17 +38,43 @@ public class MongoAuthorOperationsEventListener extends AbstractMongoEventListen
         Document source = event.getSource();
         String authorId = source.get("_id").toString();
 
-        if (bookRepository.existsByAuthorId(authorId))
+        // a positive counter is enough to refuse, a zero one may lag behind a book inserted just now
+        if (catalogCounters.bookCountOfAuthor(authorId) > 0 || bookRepository.existsByAuthorId(authorId))
             throw new IllegalDeleteOperationException("Can not delete author because exists book with this author");
     }
 
     @Override
-    public void onBeforeSave(BeforeSaveEvent<Author> event) {
-        super.onBeforeSave(event);
+    public void onAfterSave(AfterSaveEvent<Author> event) {
+        super.onAfterSave(event);
+        catalogVersions.bump(CatalogVersions.Catalog.AUTHORS);
         Author author = event.getSource();
+        if (author.getId() == null) {
+            // bulk inserts leave the entity id unset, the import reloads the suggestions once it is done
+            return;
+        }
+        evict(author.getId());
+        authorSuggestions.put(author);
+    }
 
-        if (authorRepository.existsByNameAndSurname(author.getName(), author.getSurname())) {
-            throw new IllegalSaveOperationException("Same author already exists");
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Author> event) {
+        super.onAfterDelete(event);
+        catalogVersions.bump(CatalogVersions.Catalog.AUTHORS);
+        Object id = event.getSource().get("_id");
+        if (id instanceof String || id instanceof ObjectId) {
+            evict(id.toString());
+            authorSuggestions.remove(id.toString());
+        } else {
+            cache().ifPresent(Cache::clear);
+            authorSuggestions.reload();
         }
     }
+
+    private void evict(String authorId) {
+        cache().ifPresent(cache -> cache.evict(authorId));
+    }
+
+    private Optional<Cache> cache() {
+        return Optional.ofNullable(cacheManager.getIfAvailable()).map(manager -> manager.getCache(AUTHORS_CACHE));
+    }
 }
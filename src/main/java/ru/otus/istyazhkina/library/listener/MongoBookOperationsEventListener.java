@@ -4,21 +4,30 @@ import lombok.RequiredArgsConstructor;
 import org.bson.Document;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
 import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
 import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Book;
-import ru.otus.istyazhkina.library.repository.CommentRepository;
 
 @Component
 @RequiredArgsConstructor
 public class MongoBookOperationsEventListener extends AbstractMongoEventListener<Book> {
 
-    private final CommentRepository commentRepository;
+    private final BookCommentsCleaner bookCommentsCleaner;
+    private final CatalogVersions catalogVersions;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Book> event) {
+        super.onAfterSave(event);
+        catalogVersions.bump(CatalogVersions.Catalog.BOOKS);
+    }
 
     @Override
     public void onAfterDelete(AfterDeleteEvent<Book> event) {
         super.onAfterDelete(event);
+        catalogVersions.bump(CatalogVersions.Catalog.BOOKS);
         Document source = event.getSource();
         String bookId = source.get("_id").toString();
-        commentRepository.deleteAllByBookId(bookId);
+        bookCommentsCleaner.deleteCommentsOf(bookId);
     }
 }
@@ -2,22 +2,33 @@ package ru.otus.istyazhkina.library.listener;
 
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
 import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
-import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
 import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
 import ru.otus.istyazhkina.library.repository.BookRepository;
-import ru.otus.istyazhkina.library.repository.GenreRepository;
+
+import java.util.Optional;
+
+import static ru.otus.istyazhkina.library.config.CacheConfig.GENRES_CACHE;
 
 @Component
 @RequiredArgsConstructor
 public class MongoGenreOperationsEventListener extends AbstractMongoEventListener<Genre> {
 
     private final BookRepository bookRepository;
-    private final GenreRepository genreRepository;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
 
     @Override
     public void onBeforeDelete(BeforeDeleteEvent<Genre> event) {
@@ -25,16 +36,35 @@ public class MongoGenreOperationsEventListener extends AbstractMongoEventListene
         Document source = event.getSource();
         String genreId = source.get("_id").toString();
 
-        if (bookRepository.existsByGenreId(genreId))
+        // only a positive count can skip the book lookup, zero may be stale
+        if (catalogCounters.bookCountOfGenre(genreId) > 0 || bookRepository.existsByGenreId(genreId))
             throw new IllegalDeleteOperationException("Can not delete genre because exists book with this genre");
     }
 
     @Override
-    public void onBeforeSave(BeforeSaveEvent<Genre> event) {
-        super.onBeforeSave(event);
-        Genre genre = event.getSource();
-        if (genreRepository.existsByName(genre.getName())) {
-            throw new IllegalSaveOperationException("Same genre already exists");
+    public void onAfterSave(AfterSaveEvent<Genre> event) {
+        super.onAfterSave(event);
+        catalogVersions.bump(CatalogVersions.Catalog.GENRES);
+        evict(event.getSource().getId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Genre> event) {
+        super.onAfterDelete(event);
+        catalogVersions.bump(CatalogVersions.Catalog.GENRES);
+        Object id = event.getSource().get("_id");
+        if (id instanceof String || id instanceof ObjectId) {
+            evict(id.toString());
+        } else {
+            cache().ifPresent(Cache::clear);
         }
     }
+
+    private void evict(String genreId) {
+        cache().ifPresent(cache -> cache.evict(genreId));
+    }
+
+    private Optional<Cache> cache() {
+        return Optional.ofNullable(cacheManager.getIfAvailable()).map(manager -> manager.getCache(GENRES_CACHE));
+    }
 }
@@ -0,0 +1,76 @@
+package ru.otus.istyazhkina.library.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TimingAspect {
+
+    public static final String SERVICE_TIMER = "library.service";
+    public static final String REPOSITORY_TIMER = "library.repository";
+    public static final String LISTENER_TIMER = "library.listener";
+
+    private static final String BASE_PACKAGE = "ru.otus.istyazhkina.library";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.otus.istyazhkina.library.service.impl..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, ClassUtils.getUserClass(AopUtils.getTargetClass(joinPoint.getTarget())).getSimpleName(),
+                joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, repositoryName(joinPoint.getThis().getClass()),
+                joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    @Around("target(org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener) && execution(* onApplicationEvent(..))")
+    public Object timeListener(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(LISTENER_TIMER, ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(),
+                joinPoint.getArgs()[0].getClass().getSimpleName(), joinPoint);
+    }
+
+    private Object time(String name, String className, String method, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (Repository.class.isAssignableFrom(candidate) && candidate.getName().startsWith(BASE_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -1,11 +1,26 @@
 package ru.otus.istyazhkina.library.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface AuthorRepository extends MongoRepository<Author, String> {
+import static ru.otus.istyazhkina.library.config.CacheConfig.AUTHORS_CACHE;
+
+public interface AuthorRepository extends MongoRepository<Author, String>, AuthorRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = AUTHORS_CACHE, unless = "#result == null")
+    Optional<Author> findById(String id);
+
+    /**
+     * All authors without the {@code _class} type hint, which is longer than a typical name.
+     */
+    @Query(fields = "{'name': 1, 'surname': 1}")
+    List<Author> findAllBy();
 
     Optional<Author> findByNameAndSurname(String name, String surname);
 
@@ -0,0 +1,13 @@
+package ru.otus.istyazhkina.library.repository;
+
+import ru.otus.istyazhkina.library.domain.entity.Author;
+
+import java.util.Optional;
+
+public interface AuthorRepositoryCustom {
+
+    /**
+     * Atomically sets name and surname and returns the author as it was before the update.
+     */
+    Optional<Author> updateName(String id, String name, String surname);
+}
@@ -0,0 +1,25 @@
+package ru.otus.istyazhkina.library.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Author> updateName(String id, String name, String surname) {
+        Query query = Query.query(where("id").is(id));
+        Update update = new Update().set("name", name).set("surname", surname);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Author.class));
+    }
+}
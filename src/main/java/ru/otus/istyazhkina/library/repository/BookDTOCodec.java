@@ -0,0 +1,162 @@
+package ru.otus.istyazhkina.library.repository;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+
+/**
+ * Reads {@code book} documents straight into {@link BookDTO}, bypassing the reflective entity mapping of
+ * {@code MappingMongoConverter} and the entity to DTO copy. Unknown fields such as {@code _class} are skipped.
+ * <p>
+ * Must follow the document layout Spring Data writes for {@code Book}: ids are strings or object ids and the
+ * embedded author and genre keep their ids in {@code _id}.
+ */
+public class BookDTOCodec implements Codec<BookDTO> {
+
+    private static final String ID = "_id";
+
+    @Override
+    public BookDTO decode(BsonReader reader, DecoderContext decoderContext) {
+        BookDTO book = new BookDTO();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case ID:
+                    book.setId(readId(reader));
+                    break;
+                case "title":
+                    book.setTitle(readString(reader));
+                    break;
+                case "author":
+                    book.setAuthorDTO(readAuthor(reader));
+                    break;
+                case "genre":
+                    book.setGenreDTO(readGenre(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return book;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, BookDTO book, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writeId(writer, book.getId());
+        writeString(writer, "title", book.getTitle());
+        if (book.getAuthorDTO() != null) {
+            writer.writeStartDocument("author");
+            writeId(writer, book.getAuthorDTO().getId());
+            writeString(writer, "name", book.getAuthorDTO().getName());
+            writeString(writer, "surname", book.getAuthorDTO().getSurname());
+            writer.writeEndDocument();
+        }
+        if (book.getGenreDTO() != null) {
+            writer.writeStartDocument("genre");
+            writeId(writer, book.getGenreDTO().getId());
+            writeString(writer, "name", book.getGenreDTO().getName());
+            writer.writeEndDocument();
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<BookDTO> getEncoderClass() {
+        return BookDTO.class;
+    }
+
+    private static AuthorDTO readAuthor(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return null;
+        }
+        AuthorDTO author = new AuthorDTO();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case ID:
+                    author.setId(readId(reader));
+                    break;
+                case "name":
+                    author.setName(readString(reader));
+                    break;
+                case "surname":
+                    author.setSurname(readString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return author;
+    }
+
+    private static GenreDTO readGenre(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+            reader.skipValue();
+            return null;
+        }
+        GenreDTO genre = new GenreDTO();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case ID:
+                    genre.setId(readId(reader));
+                    break;
+                case "name":
+                    genre.setName(readString(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return genre;
+    }
+
+    private static String readId(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID:
+                return reader.readObjectId().toHexString();
+            case STRING:
+                return reader.readString();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return reader.readString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private static void writeId(BsonWriter writer, String id) {
+        if (id == null) {
+            return;
+        }
+        if (ObjectId.isValid(id)) {
+            writer.writeObjectId(ID, new ObjectId(id));
+        } else {
+            writer.writeString(ID, id);
+        }
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import ru.otus.istyazhkina.library.domain.entity.Book;
 
 import java.util.List;
 
-public interface BookRepository extends MongoRepository<Book, String> {
+public interface BookRepository extends MongoRepository<Book, String>, BookRepositoryCustom {
 
     List<Book> findByTitle(String title);
 
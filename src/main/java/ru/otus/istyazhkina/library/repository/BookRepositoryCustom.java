@@ -0,0 +1,41 @@
+package ru.otus.istyazhkina.library.repository;
+
+import org.springframework.data.domain.Slice;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Streams all books decoded by {@link BookDTOCodec}.
+     */
+    void forEachBookDto(Consumer<BookDTO> consumer);
+
+    /**
+     * Reads a page of books ordered by id for the book list, decoded by {@link BookDTOCodec} without the ids of
+     * the embedded author and genre.
+     *
+     * @param after id of the last book of the previous page, {@code null} for the first page
+     */
+    Slice<BookDTO> findListPage(String after, int limit);
+
+    /**
+     * Atomically sets title, author and genre and returns the book as it was before the update.
+     */
+    Optional<Book> update(String id, String title, Author author, Genre genre);
+
+    /**
+     * Deletes the book, publishing the delete events, and returns it if this call removed it.
+     * Returns empty when the book was deleted or moved to another author or genre between the read and the remove.
+     */
+    Optional<Book> removeById(String id);
+
+    long updateEmbeddedAuthor(Author author);
+
+    long updateEmbeddedGenre(Genre genre);
+}
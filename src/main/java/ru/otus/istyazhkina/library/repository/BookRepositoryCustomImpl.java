@@ -0,0 +1,115 @@
+package ru.otus.istyazhkina.library.repository;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final CodecRegistry BOOK_DTO_CODEC = CodecRegistries.fromCodecs(new BookDTOCodec());
+    private static final Bson LIST_FIELDS = Projections.include("title", "author.name", "author.surname", "genre.name");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void forEachBookDto(Consumer<BookDTO> consumer) {
+        mongoTemplate.execute(Book.class, collection -> {
+            try (MongoCursor<BookDTO> books = bookDtos(collection).find().batchSize(CURSOR_BATCH_SIZE).iterator()) {
+                books.forEachRemaining(consumer);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Slice<BookDTO> findListPage(String after, int limit) {
+        Bson filter = after == null ? new Document() : Filters.gt("_id", ObjectId.isValid(after) ? new ObjectId(after) : after);
+        List<BookDTO> books = mongoTemplate.execute(Book.class, collection -> bookDtos(collection).find(filter)
+                .projection(LIST_FIELDS)
+                .sort(Sorts.ascending("_id"))
+                .limit(limit + 1)
+                .into(new ArrayList<>(limit + 1)));
+        boolean hasNext = books.size() > limit;
+        if (hasNext) {
+            books.remove(limit);
+        }
+        return new SliceImpl<>(books, PageRequest.of(0, limit, Sort.by("id")), hasNext);
+    }
+
+    private static MongoCollection<BookDTO> bookDtos(MongoCollection<Document> collection) {
+        return collection
+                .withCodecRegistry(CodecRegistries.fromRegistries(BOOK_DTO_CODEC, collection.getCodecRegistry()))
+                .withDocumentClass(BookDTO.class);
+    }
+
+    @Override
+    public Optional<Book> update(String id, String title, Author author, Genre genre) {
+        Query query = Query.query(where("id").is(id));
+        Update update = new Update()
+                .set("title", title)
+                .set("author", author)
+                .set("genre", genre);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Book.class));
+    }
+
+    @Override
+    public Optional<Book> removeById(String id) {
+        Book book = mongoTemplate.findOne(Query.query(where("id").is(id)), Book.class);
+        if (book == null) {
+            return Optional.empty();
+        }
+        // only remove the book as it was read, so the counters are decremented for the references it really had
+        Query query = Query.query(where("id").is(id)
+                .and("author.id").is(book.getAuthor() == null ? null : book.getAuthor().getId())
+                .and("genre.id").is(book.getGenre() == null ? null : book.getGenre().getId()));
+        if (mongoTemplate.remove(query, Book.class).getDeletedCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(book);
+    }
+
+    @Override
+    public long updateEmbeddedAuthor(Author author) {
+        Query query = Query.query(where("author.id").is(author.getId()));
+        Update update = new Update()
+                .set("author.name", author.getName())
+                .set("author.surname", author.getSurname());
+        return mongoTemplate.updateMulti(query, update, Book.class).getModifiedCount();
+    }
+
+    @Override
+    public long updateEmbeddedGenre(Genre genre) {
+        Query query = Query.query(where("genre.id").is(genre.getId()));
+        Update update = new Update().set("genre.name", genre.getName());
+        return mongoTemplate.updateMulti(query, update, Book.class).getModifiedCount();
+    }
+}
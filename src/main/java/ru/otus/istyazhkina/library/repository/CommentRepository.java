@@ -5,12 +5,9 @@ import ru.otus.istyazhkina.library.domain.entity.Comment;
 
 import java.util.List;
 
-public interface CommentRepository extends MongoRepository<Comment, String> {
+public interface CommentRepository extends MongoRepository<Comment, String>, CommentRepositoryCustom {
 
     List<Comment> findAllByBookId(String id);
 
-    @Override
-    List<Comment> findAll();
-
-    void deleteAllByBookId(String bookId);
+    long deleteAllByBookId(String bookId);
 }
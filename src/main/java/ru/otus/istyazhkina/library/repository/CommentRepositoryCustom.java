@@ -0,0 +1,28 @@
+package ru.otus.istyazhkina.library.repository;
+
+import org.springframework.data.domain.Slice;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface CommentRepositoryCustom {
+
+    Optional<Comment> updateContent(String id, String content);
+
+    long updateBookTitle(Book book);
+
+    /**
+     * Atomically deletes the comment and returns it.
+     */
+    Optional<Comment> removeById(String id);
+
+    /**
+     * Comments of the book ordered by id, starting after the comment with id {@code after} if it is set.
+     */
+    Slice<CommentDTO> findPageByBookId(String bookId, String after, int limit);
+
+    void forEachCommentDto(Consumer<CommentDTO> consumer);
+}
@@ -0,0 +1,74 @@
+package ru.otus.istyazhkina.library.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Comment> updateContent(String id, String content) {
+        Query query = Query.query(where("id").is(id));
+        Update update = new Update().set("content", content);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Comment.class));
+    }
+
+    @Override
+    public long updateBookTitle(Book book) {
+        Query query = Query.query(where("bookId").is(book.getId()));
+        Update update = new Update().set("bookTitle", book.getTitle());
+        return mongoTemplate.updateMulti(query, update, Comment.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<Comment> removeById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(Query.query(where("id").is(id)), Comment.class));
+    }
+
+    @Override
+    public Slice<CommentDTO> findPageByBookId(String bookId, String after, int limit) {
+        Criteria criteria = where("bookId").is(bookId);
+        if (after != null) {
+            criteria = criteria.and("id").gt(after);
+        }
+        Query query = Query.query(criteria).with(Sort.by("id")).limit(limit + 1);
+        query.fields().include("content").include("bookId");
+        List<CommentDTO> comments = mongoTemplate.query(Comment.class).as(CommentDTO.class).matching(query).all();
+        boolean hasNext = comments.size() > limit;
+        if (hasNext) {
+            comments.remove(limit);
+        }
+        return new SliceImpl<>(comments, PageRequest.of(0, limit, Sort.by("id")), hasNext);
+    }
+
+    @Override
+    public void forEachCommentDto(Consumer<CommentDTO> consumer) {
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("content").include("bookId");
+        try (Stream<CommentDTO> comments = mongoTemplate.query(Comment.class).as(CommentDTO.class).matching(query).stream()) {
+            comments.forEach(consumer);
+        }
+    }
+}
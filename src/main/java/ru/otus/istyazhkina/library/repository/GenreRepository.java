@@ -1,11 +1,18 @@
 package ru.otus.istyazhkina.library.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 
 import java.util.Optional;
 
-public interface GenreRepository extends MongoRepository<Genre, String> {
+import static ru.otus.istyazhkina.library.config.CacheConfig.GENRES_CACHE;
+
+public interface GenreRepository extends MongoRepository<Genre, String>, GenreRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = GENRES_CACHE, unless = "#result == null")
+    Optional<Genre> findById(String id);
 
     Optional<Genre> findByName(String name);
 
@@ -0,0 +1,13 @@
+package ru.otus.istyazhkina.library.repository;
+
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+
+import java.util.Optional;
+
+public interface GenreRepositoryCustom {
+
+    /**
+     * Atomically sets the name and returns the genre as it was before the update.
+     */
+    Optional<Genre> updateName(String id, String name);
+}
@@ -0,0 +1,12 @@
+package ru.otus.istyazhkina.library.repository.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+
+@Profile("reactive")
+public interface ReactiveAuthorRepository extends ReactiveMongoRepository<Author, String> {
+
+    Mono<Author> findByNameAndSurname(String name, String surname);
+}
@@ -0,0 +1,17 @@
+package ru.otus.istyazhkina.library.repository.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+
+@Profile("reactive")
+public interface ReactiveBookRepository extends ReactiveMongoRepository<Book, String> {
+
+    Flux<Book> findByTitle(String title);
+
+    Flux<Book> findAllBy(Pageable pageable);
+
+    Flux<Book> findAllByIdGreaterThan(String id, Pageable pageable);
+}
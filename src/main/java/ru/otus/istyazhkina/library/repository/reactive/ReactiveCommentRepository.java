@@ -0,0 +1,15 @@
+package ru.otus.istyazhkina.library.repository.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+
+@Profile("reactive")
+public interface ReactiveCommentRepository extends ReactiveMongoRepository<Comment, String> {
+
+    Flux<Comment> findAllByBookId(String bookId, Pageable pageable);
+
+    Flux<Comment> findAllByBookIdAndIdGreaterThan(String bookId, String id, Pageable pageable);
+}
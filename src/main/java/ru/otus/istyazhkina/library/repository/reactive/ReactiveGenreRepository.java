@@ -0,0 +1,12 @@
+package ru.otus.istyazhkina.library.repository.reactive;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+
+@Profile("reactive")
+public interface ReactiveGenreRepository extends ReactiveMongoRepository<Genre, String> {
+
+    Mono<Genre> findByName(String name);
+}
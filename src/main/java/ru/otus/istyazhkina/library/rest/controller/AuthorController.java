@@ -1,15 +1,20 @@
 package ru.otus.istyazhkina.library.rest.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
@@ -23,11 +28,29 @@ import java.util.stream.Collectors;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final CatalogVersions catalogVersions;
 
     @GetMapping("/api/authors")
+    public ResponseEntity<List<AuthorDTO>> getAllAuthors(WebRequest request) {
+        CatalogVersions.Version version = catalogVersions.current(CatalogVersions.Catalog.AUTHORS);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        List<AuthorDTO> authors = authorService.getAllAuthors()
+                .stream()
+                .map(AuthorDTO::toDto)
+                .collect(Collectors.toList());
+        // an empty list may be the circuit breaker fallback, which must not be revalidated later
+        return ResponseEntity.ok()
+                .cacheControl(authors.isEmpty() ? CacheControl.noStore() : CatalogVersions.REVALIDATE)
+                .body(authors);
+    }
+
+    @GetMapping("/api/authors/suggest")
     @ResponseStatus(HttpStatus.OK)
-    public List<AuthorDTO> getAllAuthors() {
-        return authorService.getAllAuthors()
+    public List<AuthorDTO> suggestAuthors(@RequestParam("prefix") String prefix,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return authorService.suggestAuthors(prefix, limit)
                 .stream()
                 .map(AuthorDTO::toDto)
                 .collect(Collectors.toList());
@@ -39,6 +62,12 @@ public class AuthorController {
         return AuthorDTO.toDto(authorService.getAuthorById(authorId));
     }
 
+    @GetMapping("/api/authors/{authorId}/books/count")
+    @ResponseStatus(HttpStatus.OK)
+    public long countBooks(@PathVariable("authorId") String authorId) {
+        return authorService.countBooks(authorId);
+    }
+
     @PutMapping("/authors/{authorId}")
     @ResponseStatus(HttpStatus.OK)
     public AuthorDTO updateAuthor(@PathVariable("authorId") String auhtorId, @RequestBody AuthorDTO authorDTO) throws DataOperationException {
@@ -1,65 +1,84 @@
 package ru.otus.istyazhkina.library.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.rest.BookDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
-import ru.otus.istyazhkina.library.service.AuthorService;
 import ru.otus.istyazhkina.library.service.BookService;
-import ru.otus.istyazhkina.library.service.GenreService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 public class BookController {
 
-    private final BookService bookService;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    private final AuthorService authorService;
-    private final GenreService genreService;
+    private final BookService bookService;
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/api/books")
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookDTO> getAllBooks() {
-        return bookService.getAllBooks()
-                .stream()
-                .map(BookDTO::toDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<BookDTO>> getBooks(@RequestParam(value = "after", required = false) String after,
+                                                  @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        Slice<BookDTO> page = bookService.getBooksPage(after, limit);
+        List<BookDTO> books = page.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && !books.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER, books.get(books.size() - 1).getId());
+        }
+        return response.body(books);
+    }
+
+    @GetMapping("/api/books/export")
+    public WebAsyncTask<Void> exportBooks(HttpServletResponse response) {
+        return NdjsonBodies.export(response, objectMapper, BookDTO.class, bookService::exportBooks);
     }
 
     @GetMapping("/api/books/{bookId}")
-    @ResponseStatus(HttpStatus.OK)
-    public BookDTO getBookById(@PathVariable("bookId") String bookId) throws DataOperationException {
-        return BookDTO.toDto(bookService.getBookById(bookId));
+    public ResponseEntity<BookDTO> getBookById(@PathVariable("bookId") String bookId, WebRequest request) throws DataOperationException {
+        CatalogVersions.Version version = catalogVersions.current(CatalogVersions.Catalog.BOOKS);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Book book = bookService.getBookById(bookId);
+        // the lookup fallback answers with a placeholder book that must not be revalidated later
+        boolean placeholder = book.getAuthor() == null || book.getAuthor().getId() == null;
+        return ResponseEntity.ok()
+                .cacheControl(placeholder ? CacheControl.noStore() : CatalogVersions.REVALIDATE)
+                .body(BookDTO.toDto(book));
     }
 
     @PutMapping("/books/{bookId}")
     @ResponseStatus(HttpStatus.OK)
     public BookDTO updateBook(@PathVariable("bookId") String bookId, @RequestBody BookDTO bookDTO) throws DataOperationException {
-        Book book = BookDTO.toBook(bookDTO);
-        book.setAuthor(authorService.getAuthorById(bookDTO.getAuthorDTO().getId()));
-        book.setGenre(genreService.getGenreById(bookDTO.getGenreDTO().getId()));
-        return BookDTO.toDto(bookService.updateBook(bookId, book));
+        return BookDTO.toDto(bookService.updateBook(bookId, bookDTO.getTitle(),
+                bookDTO.getAuthorDTO().getId(), bookDTO.getGenreDTO().getId()));
     }
 
     @PostMapping("/books/add")
     @ResponseStatus(HttpStatus.CREATED)
     public BookDTO addBook(@RequestBody BookDTO bookDTO) throws DataOperationException {
-        Book book = BookDTO.toBook(bookDTO);
-        book.setAuthor(authorService.getAuthorById(bookDTO.getAuthorDTO().getId()));
-        book.setGenre(genreService.getGenreById(bookDTO.getGenreDTO().getId()));
-        return BookDTO.toDto(bookService.addNewBook(book));
+        return BookDTO.toDto(bookService.addNewBook(bookDTO.getTitle(),
+                bookDTO.getAuthorDTO().getId(), bookDTO.getGenreDTO().getId()));
     }
 
     @DeleteMapping("/books/{bookId}")
@@ -0,0 +1,76 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.CommentService;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class CommentController {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private final CommentService commentService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/api/books/{bookId}/comments")
+    public ResponseEntity<List<CommentDTO>> getBookComments(@PathVariable("bookId") String bookId,
+                                                            @RequestParam(value = "after", required = false) String after,
+                                                            @RequestParam(value = "limit", defaultValue = "50") int limit) throws DataOperationException {
+        Slice<CommentDTO> page = commentService.getCommentsPage(bookId, after, limit);
+        List<CommentDTO> comments = page.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(commentService.countComments(bookId)));
+        if (page.hasNext() && !comments.isEmpty()) {
+            response.header(BookController.NEXT_CURSOR_HEADER, comments.get(comments.size() - 1).getId());
+        }
+        return response.body(comments);
+    }
+
+    @GetMapping("/api/comments/export")
+    public WebAsyncTask<Void> exportComments(HttpServletResponse response) {
+        return NdjsonBodies.export(response, objectMapper, CommentDTO.class, commentService::exportComments);
+    }
+
+    @GetMapping("/api/comments/{commentId}")
+    @ResponseStatus(HttpStatus.OK)
+    public CommentDTO getComment(@PathVariable("commentId") String commentId) throws DataOperationException {
+        return CommentDTO.toDto(commentService.getCommentById(commentId));
+    }
+
+    @PostMapping("/comments/add")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CommentDTO addComment(@RequestBody CommentDTO commentDTO) throws DataOperationException {
+        return CommentDTO.toDto(commentService.addNewComment(commentDTO.getContent(), commentDTO.getBookId()));
+    }
+
+    @PutMapping("/comments/{commentId}")
+    @ResponseStatus(HttpStatus.OK)
+    public CommentDTO updateComment(@PathVariable("commentId") String commentId, @RequestBody CommentDTO commentDTO) throws DataOperationException {
+        return CommentDTO.toDto(commentService.updateCommentContent(commentId, commentDTO.getContent()));
+    }
+
+    @DeleteMapping("/comments/{commentId}")
+    @ResponseStatus(HttpStatus.OK)
+    public void deleteComment(@PathVariable("commentId") String commentId) throws DataOperationException {
+        commentService.deleteComment(commentId);
+    }
+}
@@ -1,7 +1,9 @@
 package ru.otus.istyazhkina.library.rest.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
@@ -24,12 +28,22 @@ import java.util.stream.Collectors;
 public class GenreController {
 
     private final GenreService genreService;
+    private final CatalogVersions catalogVersions;
 
     @GetMapping("/api/genres")
-    @ResponseStatus(HttpStatus.OK)
-    public List<GenreDTO> getAllGenres() {
-        return genreService.getAllGenres().stream().map(GenreDTO::toDto)
+    public ResponseEntity<List<GenreDTO>> getAllGenres(WebRequest request) {
+        CatalogVersions.Version version = catalogVersions.current(CatalogVersions.Catalog.GENRES);
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        List<GenreDTO> genres = genreService.getAllGenres()
+                .stream()
+                .map(GenreDTO::toDto)
                 .collect(Collectors.toList());
+        // an empty list may be the circuit breaker fallback, which must not be revalidated later
+        return ResponseEntity.ok()
+                .cacheControl(genres.isEmpty() ? CacheControl.noStore() : CatalogVersions.REVALIDATE)
+                .body(genres);
     }
 
     @GetMapping("/api/genres/{genreId}")
@@ -38,6 +52,11 @@ public class GenreController {
         return GenreDTO.toDto(genreService.getGenreById(genreId));
     }
 
+    @GetMapping("/api/genres/{genreId}/books/count")
+    @ResponseStatus(HttpStatus.OK)
+    public long countBooks(@PathVariable("genreId") String genreId) {
+        return genreService.countBooks(genreId);
+    }
 
     @PutMapping("/genres/{genreId}")
     @ResponseStatus(HttpStatus.OK)
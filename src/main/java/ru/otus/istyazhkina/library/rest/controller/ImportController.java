@@ -0,0 +1,41 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.otus.istyazhkina.library.domain.rest.ImportReportDTO;
+import ru.otus.istyazhkina.library.service.ImportFormat;
+import ru.otus.istyazhkina.library.service.ImportService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class ImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final ImportService importService;
+
+    @PostMapping(value = "/books/import", consumes = {NDJSON, CSV})
+    @ResponseStatus(HttpStatus.OK)
+    public ImportReportDTO importBooks(HttpServletRequest request) throws IOException {
+        return importService.importBooks(request.getInputStream(), ImportFormat.of(request.getContentType()));
+    }
+
+    @PostMapping(value = "/authors/import", consumes = {NDJSON, CSV})
+    @ResponseStatus(HttpStatus.OK)
+    public ImportReportDTO importAuthors(HttpServletRequest request) throws IOException {
+        return importService.importAuthors(request.getInputStream(), ImportFormat.of(request.getContentType()));
+    }
+
+    @PostMapping(value = "/genres/import", consumes = {NDJSON, CSV})
+    @ResponseStatus(HttpStatus.OK)
+    public ImportReportDTO importGenres(HttpServletRequest request) throws IOException {
+        return importService.importGenres(request.getInputStream(), ImportFormat.of(request.getContentType()));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Newline delimited JSON bodies written while the source is iterated, one line per element.
+ */
+final class NdjsonBodies {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final long EXPORT_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private NdjsonBodies() {
+    }
+
+    /**
+     * Writes the export on the MVC task executor under its own timeout, other async requests keep the default one.
+     */
+    static <T> WebAsyncTask<Void> export(HttpServletResponse response, ObjectMapper objectMapper, Class<T> type,
+                                         Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = of(objectMapper, type, source);
+        response.setContentType(NDJSON.toString());
+        return new WebAsyncTask<>(EXPORT_TIMEOUT, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    private static <T> StreamingResponseBody of(ObjectMapper objectMapper, Class<T> type, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                source.accept(value -> {
+                    try {
+                        writer.writeValue(generator, value);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.otus.istyazhkina.library.domain.PropagationTask;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.PropagationService;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class PropagationController {
+
+    private final PropagationService propagationService;
+
+    @GetMapping("/api/propagation/tasks")
+    @ResponseStatus(HttpStatus.OK)
+    public List<PropagationTask> getRecentTasks() {
+        return propagationService.getRecentTasks();
+    }
+
+    @GetMapping("/api/propagation/tasks/{taskId}")
+    @ResponseStatus(HttpStatus.OK)
+    public PropagationTask getTask(@PathVariable("taskId") String taskId) throws DataOperationException {
+        return propagationService.getTask(taskId);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.otus.istyazhkina.library.domain.rest.SearchHitDTO;
+import ru.otus.istyazhkina.library.domain.rest.SearchResultDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.SearchService;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping("/api/search")
+    @ResponseStatus(HttpStatus.OK)
+    public SearchResultDTO search(@RequestParam("q") String query,
+                                  @RequestParam(value = "type", required = false) Set<SearchHitDTO.Type> types,
+                                  @RequestParam(value = "page", defaultValue = "0") int page,
+                                  @RequestParam(value = "size", defaultValue = "20") int size) throws DataOperationException {
+        Set<SearchHitDTO.Type> searchedTypes = types == null || types.isEmpty() ? EnumSet.allOf(SearchHitDTO.Type.class) : types;
+        return searchService.search(query, searchedTypes, page, size);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.otus.istyazhkina.library.rest.controller.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.reactive.ReactiveAuthorRepository;
+
+@Profile("reactive")
+@RestController
+@RequiredArgsConstructor
+public class ReactiveAuthorController {
+
+    private final ReactiveAuthorRepository authorRepository;
+
+    @GetMapping("/api/reactive/authors")
+    public Flux<AuthorDTO> getAllAuthors() {
+        return authorRepository.findAll().map(AuthorDTO::toDto);
+    }
+
+    @GetMapping("/api/reactive/authors/{authorId}")
+    public Mono<AuthorDTO> getAuthorById(@PathVariable("authorId") String authorId) {
+        return authorRepository.findById(authorId)
+                .map(AuthorDTO::toDto)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new DataOperationException("Author by provided ID not found"))));
+    }
+}
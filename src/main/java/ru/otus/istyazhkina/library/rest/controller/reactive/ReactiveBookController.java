@@ -0,0 +1,54 @@
+package ru.otus.istyazhkina.library.rest.controller.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.reactive.ReactiveBookRepository;
+import ru.otus.istyazhkina.library.repository.reactive.ReactiveCommentRepository;
+
+@Profile("reactive")
+@RestController
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveCommentRepository commentRepository;
+
+    @GetMapping("/api/reactive/books")
+    public Flux<BookDTO> getBooks(@RequestParam(value = "after", required = false) String after,
+                                  @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        Pageable pageable = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE), Sort.by("id"));
+        return (after == null ? bookRepository.findAllBy(pageable) : bookRepository.findAllByIdGreaterThan(after, pageable))
+                .map(BookDTO::toDto);
+    }
+
+    @GetMapping("/api/reactive/books/{bookId}")
+    public Mono<BookDTO> getBookById(@PathVariable("bookId") String bookId) {
+        return bookRepository.findById(bookId)
+                .map(BookDTO::toDto)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new DataOperationException("Book by provided ID not found"))));
+    }
+
+    @GetMapping("/api/reactive/books/{bookId}/comments")
+    public Flux<CommentDTO> getBookComments(@PathVariable("bookId") String bookId,
+                                            @RequestParam(value = "after", required = false) String after,
+                                            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        Pageable pageable = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE), Sort.by("id"));
+        return (after == null ? commentRepository.findAllByBookId(bookId, pageable)
+                : commentRepository.findAllByBookIdAndIdGreaterThan(bookId, after, pageable))
+                .map(CommentDTO::toDto);
+    }
+}
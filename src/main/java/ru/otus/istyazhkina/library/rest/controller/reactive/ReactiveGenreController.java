@@ -0,0 +1,32 @@
+package ru.otus.istyazhkina.library.rest.controller.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.reactive.ReactiveGenreRepository;
+
+@Profile("reactive")
+@RestController
+@RequiredArgsConstructor
+public class ReactiveGenreController {
+
+    private final ReactiveGenreRepository genreRepository;
+
+    @GetMapping("/api/reactive/genres")
+    public Flux<GenreDTO> getAllGenres() {
+        return genreRepository.findAll().map(GenreDTO::toDto);
+    }
+
+    @GetMapping("/api/reactive/genres/{genreId}")
+    public Mono<GenreDTO> getGenre(@PathVariable("genreId") String genreId) {
+        return genreRepository.findById(genreId)
+                .map(GenreDTO::toDto)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new DataOperationException("No genre found by provided id"))));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.otus.istyazhkina.library.rest.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit: the limit grows by one for every request that
+ * completes within the latency threshold while the limit is actually being used, and is multiplied by the backoff
+ * ratio when a request is slower than the threshold or fails.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.otus.istyazhkina.library.rest.limit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteGroup> groups;
+
+    public ConcurrencyLimitFilter(Map<String, ConcurrencyLimitProperties.Group> groups) {
+        this.groups = groups.values().stream()
+                .map(RouteGroup::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteGroup group = findGroup(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!group.limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, group.retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(group.limiter, start));
+            } else {
+                group.limiter.release(System.nanoTime() - start, failed || isServerError(response));
+            }
+        }
+    }
+
+    private RouteGroup findGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RouteGroup group : groups) {
+            if (pathMatcher.match(group.pattern, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isServerError(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private static class RouteGroup {
+        private final String pattern;
+        private final String retryAfterSeconds;
+        private final AimdLimiter limiter;
+
+        RouteGroup(ConcurrencyLimitProperties.Group properties) {
+            this.pattern = properties.getPattern();
+            this.retryAfterSeconds = String.valueOf(Math.max(1, properties.getRetryAfter().getSeconds()));
+            this.limiter = new AimdLimiter(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                    properties.getBackoffRatio(), properties.getLatencyThreshold().toNanos());
+        }
+    }
+
+    private static class ReleasingListener implements AsyncListener {
+        private final AimdLimiter limiter;
+        private final long start;
+        private volatile boolean failed;
+
+        ReleasingListener(AimdLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(System.nanoTime() - start,
+                    failed || isServerError((HttpServletResponse) event.getSuppliedResponse()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
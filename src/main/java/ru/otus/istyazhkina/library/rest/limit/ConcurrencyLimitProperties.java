@@ -0,0 +1,30 @@
+package ru.otus.istyazhkina.library.rest.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties("library.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled;
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private String pattern;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -24,11 +24,13 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .antMatchers("/public/**", "/img/**", "/style/**")
                 .permitAll()
                 .and()
-                .authorizeRequests().antMatchers(HttpMethod.POST, "/**/add").hasRole("ADMIN")
+                .authorizeRequests().antMatchers(HttpMethod.POST, "/**/add", "/**/import").hasRole("ADMIN")
                 .and()
-                .authorizeRequests().antMatchers(HttpMethod.DELETE, "/genres/**", "/books/**", "/authors/**").hasRole("ADMIN")
+                .authorizeRequests().antMatchers(HttpMethod.DELETE, "/genres/**", "/books/**", "/authors/**", "/comments/**").hasRole("ADMIN")
                 .and()
-                .authorizeRequests().antMatchers(HttpMethod.PUT, "/genres/**", "/books/**", "/authors/**").hasRole("ADMIN")
+                .authorizeRequests().antMatchers(HttpMethod.PUT, "/genres/**", "/books/**", "/authors/**", "/comments/**").hasRole("ADMIN")
+                .and()
+                .authorizeRequests().antMatchers(HttpMethod.GET, "/api/comments/export").hasRole("ADMIN")
                 .and()
                 .authorizeRequests().anyRequest().authenticated()
                 .and()
@@ -13,9 +13,13 @@ public interface AuthorService {
 
     Author getAuthorByName(String name, String surname) throws DataOperationException;
 
+    List<Author> suggestAuthors(String prefix, int limit);
+
     Author addNewAuthor(Author author) throws DataOperationException;
 
     Author updateAuthor(String id, Author auhtor) throws DataOperationException;
 
     void deleteAuthor(String id) throws DataOperationException;
+
+    long countBooks(String authorId);
 }
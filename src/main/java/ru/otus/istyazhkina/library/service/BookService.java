@@ -1,9 +1,12 @@
 package ru.otus.istyazhkina.library.service;
 
+import org.springframework.data.domain.Slice;
 import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookService {
 
@@ -11,13 +14,19 @@ public interface BookService {
 
     List<Book> getAllBooks();
 
+    Slice<BookDTO> getBooksPage(String after, int limit);
+
+    void exportBooks(Consumer<BookDTO> consumer);
+
     Book getBookById(String id) throws DataOperationException;
 
     List<Book> getBooksByTitle(String name);
 
-    Book addNewBook(Book book);
+    Book addNewBook(String title, String authorId, String genreId) throws DataOperationException;
 
     Book updateBook(String id, Book book) throws DataOperationException;
 
+    Book updateBook(String id, String title, String authorId, String genreId) throws DataOperationException;
+
     void deleteBookById(String id) throws DataOperationException;
 }
@@ -1,13 +1,15 @@
 package ru.otus.istyazhkina.library.service;
 
+import org.springframework.data.domain.Slice;
 import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface CommentService {
 
-    List<Comment> getAllComments();
+    void exportComments(Consumer<CommentDTO> consumer);
 
     Comment getCommentById(String id) throws DataOperationException;
 
@@ -17,5 +19,7 @@ public interface CommentService {
 
     void deleteComment(String id) throws DataOperationException;
 
-    List<Comment> getCommentsByBookId(String bookId);
+    Slice<CommentDTO> getCommentsPage(String bookId, String after, int limit) throws DataOperationException;
+
+    long countComments(String bookId);
 }
@@ -18,4 +18,6 @@ public interface GenreService {
     Genre updateGenre(String id, Genre genre) throws DataOperationException;
 
     void deleteGenre(String id) throws DataOperationException;
+
+    long countBooks(String genreId);
 }
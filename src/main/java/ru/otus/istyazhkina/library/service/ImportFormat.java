@@ -0,0 +1,25 @@
+package ru.otus.istyazhkina.library.service;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (ImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(requested)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format " + contentType);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.otus.istyazhkina.library.service;
+
+import ru.otus.istyazhkina.library.domain.rest.ImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+
+    ImportReportDTO importBooks(InputStream input, ImportFormat format) throws IOException;
+
+    ImportReportDTO importAuthors(InputStream input, ImportFormat format) throws IOException;
+
+    ImportReportDTO importGenres(InputStream input, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,22 @@
+package ru.otus.istyazhkina.library.service;
+
+import ru.otus.istyazhkina.library.domain.PropagationTask;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+
+import java.util.List;
+
+public interface PropagationService {
+
+    PropagationTask propagateAuthor(Author author);
+
+    PropagationTask propagateGenre(Genre genre);
+
+    PropagationTask propagateBook(Book book);
+
+    List<PropagationTask> getRecentTasks();
+
+    PropagationTask getTask(String id) throws DataOperationException;
+}
@@ -0,0 +1,12 @@
+package ru.otus.istyazhkina.library.service;
+
+import ru.otus.istyazhkina.library.domain.rest.SearchHitDTO;
+import ru.otus.istyazhkina.library.domain.rest.SearchResultDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+
+import java.util.Set;
+
+public interface SearchService {
+
+    SearchResultDTO search(String query, Set<SearchHitDTO.Type> types, int page, int size) throws DataOperationException;
+}
@@ -2,31 +2,45 @@ package ru.otus.istyazhkina.library.service.impl;
 
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
+import ru.otus.istyazhkina.library.faults.FaultInjector;
 import ru.otus.istyazhkina.library.repository.AuthorRepository;
 import ru.otus.istyazhkina.library.service.AuthorService;
-import ru.otus.istyazhkina.library.utils.HystrixSleepUtil;
+import ru.otus.istyazhkina.library.service.PropagationService;
+import ru.otus.istyazhkina.library.suggest.AuthorSuggestions;
 
 import java.util.Collections;
 import java.util.List;
 
+import static ru.otus.istyazhkina.library.config.CacheConfig.AUTHORS_CACHE;
+
 @Service
 @AllArgsConstructor
 public class AuthorServiceImpl implements AuthorService {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final AuthorRepository authorRepository;
+    private final FaultInjector faultInjector;
+    private final PropagationService propagationService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
+    private final AuthorSuggestions authorSuggestions;
 
     @Override
     @Transactional(readOnly = true)
     @HystrixCommand(commandKey = "authors", fallbackMethod = "fallbackGetAllAuthors")
     public List<Author> getAllAuthors() {
-        HystrixSleepUtil.sleepRandomly(4);
-        return authorRepository.findAll();
+        faultInjector.inject("authors");
+        return authorRepository.findAllBy();
     }
 
     public List<Author> fallbackGetAllAuthors() {
@@ -35,9 +49,9 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     @Transactional(readOnly = true)
-    @HystrixCommand(commandKey = "authors", fallbackMethod = "fallbackGetAuthorById")
+    @HystrixCommand(commandKey = "authorLookup", fallbackMethod = "fallbackGetAuthorById")
     public Author getAuthorById(String id) throws DataOperationException {
-        HystrixSleepUtil.sleepRandomly(4);
+        faultInjector.inject("authorLookup");
         return authorRepository.findById(id).orElseThrow(() -> new DataOperationException("Author by provided ID not found"));
     }
 
@@ -51,9 +65,9 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     @Transactional(readOnly = true)
-    @HystrixCommand(commandKey = "authors", fallbackMethod = "fallbackGetAuthorByName")
+    @HystrixCommand(commandKey = "authorLookup", fallbackMethod = "fallbackGetAuthorByName")
     public Author getAuthorByName(String name, String surname) throws DataOperationException {
-        HystrixSleepUtil.sleepRandomly(4);
+        faultInjector.inject("authorLookup");
         return authorRepository.findByNameAndSurname(name, surname).orElseThrow(() -> new DataOperationException("No author found by provided name"));
     }
 
@@ -65,34 +79,44 @@ public class AuthorServiceImpl implements AuthorService {
                 .build();
     }
 
+    @Override
+    public List<Author> suggestAuthors(String prefix, int limit) {
+        return authorSuggestions.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
     public Author addNewAuthor(Author author) throws DataOperationException {
         try {
             return authorRepository.save(author);
-        } catch (IllegalSaveOperationException e) {
+        } catch (DuplicateKeyException e) {
             throw new DataOperationException("Can not add author because author already exists!");
         }
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
+    @CacheEvict(cacheNames = AUTHORS_CACHE, key = "#id")
     public Author updateAuthor(String id, Author author) throws DataOperationException {
-        Author authorFromDB = authorRepository.findById(id).orElseThrow(() -> new DataOperationException("Can not update author. Author by provided ID not found"));
-        if (author.getName().equals(authorFromDB.getName()) && author.getSurname().equals(authorFromDB.getSurname())) {
-            return authorFromDB;
-        }
-        authorFromDB.setName(author.getName());
-        authorFromDB.setSurname(author.getSurname());
+        Author previousAuthor;
         try {
-            return authorRepository.save(authorFromDB);
-        } catch (IllegalSaveOperationException e) {
+            previousAuthor = authorRepository.updateName(id, author.getName(), author.getSurname())
+                    .orElseThrow(() -> new DataOperationException("Can not update author. Author by provided ID not found"));
+        } catch (DuplicateKeyException e) {
             throw new DataOperationException("Can not update author because author with same name already exists!");
         }
+        Author updatedAuthor = new Author(id, author.getName(), author.getSurname());
+        if (!updatedAuthor.equals(previousAuthor)) {
+            catalogVersions.bump(CatalogVersions.Catalog.AUTHORS);
+            authorSuggestions.put(updatedAuthor);
+            propagationService.propagateAuthor(updatedAuthor);
+        }
+        return updatedAuthor;
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
+    @CacheEvict(cacheNames = AUTHORS_CACHE, key = "#id")
     public void deleteAuthor(String id) throws DataOperationException {
         try {
             authorRepository.deleteById(id);
@@ -101,4 +125,9 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
     }
+
+    @Override
+    public long countBooks(String authorId) {
+        return catalogCounters.bookCountOfAuthor(authorId);
+    }
 }
@@ -2,25 +2,42 @@ package ru.otus.istyazhkina.library.service.impl;
 
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import lombok.AllArgsConstructor;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.faults.FaultInjector;
+import ru.otus.istyazhkina.library.repository.AuthorRepository;
 import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.repository.GenreRepository;
 import ru.otus.istyazhkina.library.service.BookService;
-import ru.otus.istyazhkina.library.utils.HystrixSleepUtil;
+import ru.otus.istyazhkina.library.service.PropagationService;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @AllArgsConstructor
 public class BookServiceImpl implements BookService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+    private final FaultInjector faultInjector;
+    private final PropagationService propagationService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
 
     @Override
     @Transactional(readOnly = true)
@@ -32,7 +49,7 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     @HystrixCommand(commandKey = "books", fallbackMethod = "fallbackGetAllBooks")
     public List<Book> getAllBooks() {
-        HystrixSleepUtil.sleepRandomly(5);
+        faultInjector.inject("books");
         return bookRepository.findAll();
     }
 
@@ -42,9 +59,27 @@ public class BookServiceImpl implements BookService {
 
     @Override
     @Transactional(readOnly = true)
-    @HystrixCommand(commandKey = "books", fallbackMethod = "fallbackGetBookById")
+    @HystrixCommand(commandKey = "books", fallbackMethod = "fallbackGetBooksPage")
+    public Slice<BookDTO> getBooksPage(String after, int limit) {
+        faultInjector.inject("books");
+        return bookRepository.findListPage(after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
+    public Slice<BookDTO> fallbackGetBooksPage(String after, int limit) {
+        return new SliceImpl<>(Collections.emptyList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<BookDTO> consumer) {
+        bookRepository.forEachBookDto(consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @HystrixCommand(commandKey = "bookLookup", fallbackMethod = "fallbackGetBookById")
     public Book getBookById(String id) throws DataOperationException {
-        HystrixSleepUtil.sleepRandomly(5);
+        faultInjector.inject("bookLookup");
         return bookRepository.findById(id).orElseThrow(() -> new DataOperationException("Book by provided ID not found"));
     }
 
@@ -61,7 +96,7 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     @HystrixCommand(commandKey = "books", fallbackMethod = "fallbackGetBooksByTitle")
     public List<Book> getBooksByTitle(String name) {
-        HystrixSleepUtil.sleepRandomly(5);
+        faultInjector.inject("books");
         return bookRepository.findByTitle(name);
     }
 
@@ -76,30 +111,58 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    @Transactional
-    public Book addNewBook(Book book) {
-        bookRepository.save(book);
-        return book;
+    @Transactional(rollbackFor = DataOperationException.class)
+    public Book addNewBook(String title, String authorId, String genreId) throws DataOperationException {
+        Book book = resolveReferences(authorId, genreId);
+        book.setTitle(title);
+        Book savedBook = bookRepository.save(book);
+        catalogCounters.bookAdded(idOf(savedBook.getAuthor()), idOf(savedBook.getGenre()));
+        return savedBook;
     }
 
     @Override
     @Transactional
     public Book updateBook(String id, Book book) throws DataOperationException {
-        Book bookFromDB = bookRepository.findById(id).orElseThrow(() -> new DataOperationException("Book by provided ID not found"));
-        bookFromDB.setTitle(book.getTitle());
-        bookFromDB.setGenre(book.getGenre());
-        bookFromDB.setAuthor(book.getAuthor());
-        bookRepository.save(bookFromDB);
-        return book;
+        Book previousBook = bookRepository.update(id, book.getTitle(), book.getAuthor(), book.getGenre())
+                .orElseThrow(() -> new DataOperationException("Book by provided ID not found"));
+        Book updatedBook = new Book(id, book.getTitle(), book.getAuthor(), book.getGenre());
+        catalogVersions.bump(CatalogVersions.Catalog.BOOKS);
+        catalogCounters.bookMoved(idOf(previousBook.getAuthor()), idOf(previousBook.getGenre()),
+                idOf(updatedBook.getAuthor()), idOf(updatedBook.getGenre()));
+        propagationService.propagateBook(updatedBook);
+        return updatedBook;
+    }
+
+    @Override
+    @Transactional(rollbackFor = DataOperationException.class)
+    public Book updateBook(String id, String title, String authorId, String genreId) throws DataOperationException {
+        Book references = resolveReferences(authorId, genreId);
+        return updateBook(id, new Book(title, references.getAuthor(), references.getGenre()));
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
     public void deleteBookById(String id) throws DataOperationException {
-        try {
-            bookRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new DataOperationException("There is no book with provided id");
-        }
+        Book book = bookRepository.removeById(id)
+                .orElseThrow(() -> new DataOperationException("There is no book with provided id"));
+        catalogCounters.bookRemoved(idOf(book.getAuthor()), idOf(book.getGenre()));
+    }
+
+    private Book resolveReferences(String authorId, String genreId) throws DataOperationException {
+        // both lookups are usually cache hits, handing one to another thread would only queue it behind async work
+        Optional<Author> author = authorRepository.findById(authorId);
+        Optional<Genre> genre = genreRepository.findById(genreId);
+        return Book.builder()
+                .author(author.orElseThrow(() -> new DataOperationException("Author by provided ID not found")))
+                .genre(genre.orElseThrow(() -> new DataOperationException("Genre by provided ID not found")))
+                .build();
+    }
+
+    private static String idOf(Author author) {
+        return author == null ? null : author.getId();
+    }
+
+    private static String idOf(Genre genre) {
+        return genre == null ? null : genre.getId();
     }
 }
@@ -1,29 +1,34 @@
 package ru.otus.istyazhkina.library.service.impl;
 
 import lombok.AllArgsConstructor;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 import ru.otus.istyazhkina.library.repository.BookRepository;
 import ru.otus.istyazhkina.library.repository.CommentRepository;
 import ru.otus.istyazhkina.library.service.CommentService;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @AllArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CommentRepository commentRepository;
     private final BookRepository bookRepository;
+    private final CatalogCounters catalogCounters;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Comment> getAllComments() {
-        return commentRepository.findAll();
+    public void exportComments(Consumer<CommentDTO> consumer) {
+        commentRepository.forEachCommentDto(consumer);
     }
 
     @Override
@@ -36,30 +41,39 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     public Comment addNewComment(String content, String bookId) throws DataOperationException {
         Book book = bookRepository.findById(bookId).orElseThrow(() -> new DataOperationException("Can not add new Comment. Book by provided id is not found!"));
-        return commentRepository.save(new Comment(content, book));
+        Comment comment = commentRepository.save(new Comment(content, book));
+        catalogCounters.commentAdded(book.getId());
+        return comment;
     }
 
     @Override
     @Transactional
     public Comment updateCommentContent(String id, String newContent) throws DataOperationException {
-        Comment comment = commentRepository.findById(id).orElseThrow(() -> new DataOperationException("Can not update comment. Comment by provided ID not found"));
-        comment.setContent(newContent);
-        return commentRepository.save(comment);
+        return commentRepository.updateContent(id, newContent)
+                .orElseThrow(() -> new DataOperationException("Can not update comment. Comment by provided ID not found"));
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
     public void deleteComment(String id) throws DataOperationException {
-        try {
-            commentRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new DataOperationException("There is no comment with provided id");
-        }
+        Comment comment = commentRepository.removeById(id)
+                .orElseThrow(() -> new DataOperationException("There is no comment with provided id"));
+        catalogCounters.commentRemoved(comment.getBookId());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Comment> getCommentsByBookId(String bookId) {
-        return commentRepository.findAllByBookId(bookId);
+    public Slice<CommentDTO> getCommentsPage(String bookId, String after, int limit) throws DataOperationException {
+        Slice<CommentDTO> page = commentRepository.findPageByBookId(bookId, after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        // only an empty first page needs to tell a book without comments from a missing one
+        if (after == null && !page.hasContent() && !bookRepository.existsById(bookId)) {
+            throw new DataOperationException("Book by provided id is not found");
+        }
+        return page;
+    }
+
+    @Override
+    public long countComments(String bookId) {
+        return catalogCounters.commentCountOfBook(bookId);
     }
 }
@@ -2,30 +2,40 @@ package ru.otus.istyazhkina.library.service.impl;
 
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
+import ru.otus.istyazhkina.library.faults.FaultInjector;
 import ru.otus.istyazhkina.library.repository.GenreRepository;
 import ru.otus.istyazhkina.library.service.GenreService;
-import ru.otus.istyazhkina.library.utils.HystrixSleepUtil;
+import ru.otus.istyazhkina.library.service.PropagationService;
 
 import java.util.Collections;
 import java.util.List;
 
+import static ru.otus.istyazhkina.library.config.CacheConfig.GENRES_CACHE;
+
 @Service
 @AllArgsConstructor
 public class GenreServiceImpl implements GenreService {
 
     private final GenreRepository genreRepository;
+    private final FaultInjector faultInjector;
+    private final PropagationService propagationService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
 
     @Override
     @Transactional(readOnly = true)
     @HystrixCommand(commandKey = "genres", fallbackMethod = "fallbackGetAllGenres")
     public List<Genre> getAllGenres() {
-        HystrixSleepUtil.sleepRandomly(3);
+        faultInjector.inject("genres");
         return genreRepository.findAll();
     }
 
@@ -35,9 +45,9 @@ public class GenreServiceImpl implements GenreService {
 
     @Override
     @Transactional(readOnly = true)
-    @HystrixCommand(commandKey = "genres", fallbackMethod = "fallbackGetGenreById")
+    @HystrixCommand(commandKey = "genreLookup", fallbackMethod = "fallbackGetGenreById")
     public Genre getGenreById(String id) throws DataOperationException {
-        HystrixSleepUtil.sleepRandomly(3);
+        faultInjector.inject("genreLookup");
         return genreRepository.findById(id).orElseThrow(() -> new DataOperationException("No genre found by provided id"));
     }
 
@@ -50,9 +60,9 @@ public class GenreServiceImpl implements GenreService {
 
     @Override
     @Transactional(readOnly = true)
-    @HystrixCommand(commandKey = "genres", fallbackMethod = "fallbackGetGenreByName")
+    @HystrixCommand(commandKey = "genreLookup", fallbackMethod = "fallbackGetGenreByName")
     public Genre getGenreByName(String name) throws DataOperationException {
-        HystrixSleepUtil.sleepRandomly(3);
+        faultInjector.inject("genreLookup");
         return genreRepository.findByName(name).orElseThrow(() -> new DataOperationException("No genre found by provided name"));
     }
 
@@ -68,28 +78,33 @@ public class GenreServiceImpl implements GenreService {
     public Genre addNewGenre(Genre genre) throws DataOperationException {
         try {
             return genreRepository.save(genre);
-        } catch (IllegalSaveOperationException e) {
+        } catch (DuplicateKeyException e) {
             throw new DataOperationException("Can not add genre because genre already exists!");
         }
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
+    @CacheEvict(cacheNames = GENRES_CACHE, key = "#id")
     public Genre updateGenre(String id, Genre genre) throws DataOperationException {
-        Genre genreFromDB = genreRepository.findById(id).orElseThrow(() -> new DataOperationException("Can not update genre. Genre by provided ID not found"));
-        if (genre.getName().equals(genreFromDB.getName())) {
-            return genreFromDB;
-        }
-        genreFromDB.setName(genre.getName());
+        Genre previousGenre;
         try {
-            return genreRepository.save(genreFromDB);
-        } catch (IllegalSaveOperationException e) {
+            previousGenre = genreRepository.updateName(id, genre.getName())
+                    .orElseThrow(() -> new DataOperationException("Can not update genre. Genre by provided ID not found"));
+        } catch (DuplicateKeyException e) {
             throw new DataOperationException("Can not update genre because genre with same name already exists!");
         }
+        Genre updatedGenre = new Genre(id, genre.getName());
+        if (!updatedGenre.equals(previousGenre)) {
+            catalogVersions.bump(CatalogVersions.Catalog.GENRES);
+            propagationService.propagateGenre(updatedGenre);
+        }
+        return updatedGenre;
     }
 
     @Override
     @Transactional(rollbackFor = DataOperationException.class)
+    @CacheEvict(cacheNames = GENRES_CACHE, key = "#id")
     public void deleteGenre(String id) throws DataOperationException {
         try {
             genreRepository.deleteById(id);
@@ -97,4 +112,9 @@ public class GenreServiceImpl implements GenreService {
             throw new DataOperationException("You can not delete genre because exists book with this genre!");
         }
     }
+
+    @Override
+    public long countBooks(String genreId) {
+        return catalogCounters.bookCountOfGenre(genreId);
+    }
 }
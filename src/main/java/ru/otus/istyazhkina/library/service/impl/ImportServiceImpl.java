@@ -0,0 +1,254 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+import ru.otus.istyazhkina.library.domain.rest.ImportReportDTO;
+import ru.otus.istyazhkina.library.repository.AuthorRepository;
+import ru.otus.istyazhkina.library.repository.GenreRepository;
+import ru.otus.istyazhkina.library.service.ImportFormat;
+import ru.otus.istyazhkina.library.service.ImportService;
+import ru.otus.istyazhkina.library.suggest.AuthorSuggestions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+    private final ObjectMapper objectMapper;
+    private final AuthorSuggestions authorSuggestions;
+    private final CatalogVersions catalogVersions;
+    private final CatalogCounters catalogCounters;
+
+    @Override
+    public ImportReportDTO importBooks(InputStream input, ImportFormat format) throws IOException {
+        ImportReportDTO report = importRows(input, format, BookDTO.class,
+                fields -> new BookDTO(null, field(fields, 0), new AuthorDTO(field(fields, 1), null, null), new GenreDTO(field(fields, 2), null)),
+                this::insertBooks);
+        catalogVersions.bump(CatalogVersions.Catalog.BOOKS);
+        return report;
+    }
+
+    @Override
+    public ImportReportDTO importAuthors(InputStream input, ImportFormat format) throws IOException {
+        ImportReportDTO report = importRows(input, format, AuthorDTO.class,
+                fields -> new AuthorDTO(null, field(fields, 0), field(fields, 1)),
+                this::insertAuthors);
+        // the author listener skips bulk inserts, so the index is rebuilt once instead of once per row
+        authorSuggestions.reload();
+        catalogVersions.bump(CatalogVersions.Catalog.AUTHORS);
+        return report;
+    }
+
+    @Override
+    public ImportReportDTO importGenres(InputStream input, ImportFormat format) throws IOException {
+        ImportReportDTO report = importRows(input, format, GenreDTO.class,
+                fields -> new GenreDTO(null, field(fields, 0)),
+                this::insertGenres);
+        catalogVersions.bump(CatalogVersions.Catalog.GENRES);
+        return report;
+    }
+
+    private <T> ImportReportDTO importRows(InputStream input, ImportFormat format, Class<T> type,
+                                           CsvMapper<T> csvMapper, BiConsumer<List<Row<T>>, ImportReportDTO> batchWriter) throws IOException {
+        ImportReportDTO report = new ImportReportDTO();
+        List<Row<T>> batch = new ArrayList<>(BATCH_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == ImportFormat.CSV && lineNumber == 1)) {
+                    continue;
+                }
+                report.rowRead();
+                try {
+                    T value = format == ImportFormat.CSV
+                            ? csvMapper.map(parseCsvLine(line))
+                            : objectMapper.readValue(line, type);
+                    batch.add(new Row<>(lineNumber, value));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    report.rowFailed(lineNumber, "Malformed row: " + e.getMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    batchWriter.accept(batch, report);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchWriter.accept(batch, report);
+        }
+        return report;
+    }
+
+    private void insertBooks(List<Row<BookDTO>> rows, ImportReportDTO report) {
+        Map<String, Author> authors = new HashMap<>();
+        authorRepository.findAllById(referencedIds(rows, dto -> dto.getAuthorDTO() == null ? null : dto.getAuthorDTO().getId()))
+                .forEach(author -> authors.put(author.getId(), author));
+        Map<String, Genre> genres = new HashMap<>();
+        genreRepository.findAllById(referencedIds(rows, dto -> dto.getGenreDTO() == null ? null : dto.getGenreDTO().getId()))
+                .forEach(genre -> genres.put(genre.getId(), genre));
+
+        List<Row<Book>> books = new ArrayList<>(rows.size());
+        for (Row<BookDTO> row : rows) {
+            BookDTO dto = row.value;
+            Author author = dto.getAuthorDTO() == null ? null : authors.get(dto.getAuthorDTO().getId());
+            Genre genre = dto.getGenreDTO() == null ? null : genres.get(dto.getGenreDTO().getId());
+            if (!StringUtils.hasText(dto.getTitle())) {
+                report.rowFailed(row.line, "Title is required");
+            } else if (author == null) {
+                report.rowFailed(row.line, "Author by provided ID not found");
+            } else if (genre == null) {
+                report.rowFailed(row.line, "Genre by provided ID not found");
+            } else {
+                books.add(new Row<>(row.line, new Book(dto.getTitle(), author, genre)));
+            }
+        }
+        catalogCounters.booksAdded(insert(books, Book.class, report));
+    }
+
+    private void insertAuthors(List<Row<AuthorDTO>> rows, ImportReportDTO report) {
+        List<Row<Author>> authors = new ArrayList<>(rows.size());
+        for (Row<AuthorDTO> row : rows) {
+            if (!StringUtils.hasText(row.value.getName()) || !StringUtils.hasText(row.value.getSurname())) {
+                report.rowFailed(row.line, "Author name and surname are required");
+            } else {
+                authors.add(new Row<>(row.line, new Author(row.value.getName(), row.value.getSurname())));
+            }
+        }
+        insert(authors, Author.class, report);
+    }
+
+    private void insertGenres(List<Row<GenreDTO>> rows, ImportReportDTO report) {
+        List<Row<Genre>> genres = new ArrayList<>(rows.size());
+        for (Row<GenreDTO> row : rows) {
+            if (!StringUtils.hasText(row.value.getName())) {
+                report.rowFailed(row.line, "Genre name is required");
+            } else {
+                genres.add(new Row<>(row.line, new Genre(row.value.getName())));
+            }
+        }
+        insert(genres, Genre.class, report);
+    }
+
+    /**
+     * Inserts the rows in one unordered bulk write and returns the values that were inserted.
+     */
+    private <T> List<T> insert(List<Row<T>> rows, Class<T> type, ImportReportDTO report) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> values = rows.stream().map(row -> row.value).collect(Collectors.toList());
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        bulkOperations.insert(values);
+        try {
+            report.rowsImported(bulkOperations.execute().getInsertedCount());
+            return values;
+        } catch (BulkOperationException e) {
+            report.rowsImported(e.getResult().getInsertedCount());
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                String message = error.getCode() == DUPLICATE_KEY_ERROR ? "Already exists" : error.getMessage();
+                report.rowFailed(rows.get(error.getIndex()).line, message);
+                failed.add(error.getIndex());
+            }
+            List<T> inserted = new ArrayList<>(values.size() - failed.size());
+            for (int i = 0; i < values.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(values.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private static <T> Set<String> referencedIds(List<Row<T>> rows, Function<T, String> idExtractor) {
+        return rows.stream()
+                .map(row -> idExtractor.apply(row.value))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface CsvMapper<T> {
+        T map(List<String> fields);
+    }
+
+    @RequiredArgsConstructor
+    private static class Row<T> {
+        private final long line;
+        private final T value;
+    }
+}
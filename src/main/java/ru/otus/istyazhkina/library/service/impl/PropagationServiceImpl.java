@@ -0,0 +1,139 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
+import ru.otus.istyazhkina.library.config.VirtualThreads;
+import ru.otus.istyazhkina.library.domain.PropagationTask;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+import ru.otus.istyazhkina.library.service.PropagationService;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static ru.otus.istyazhkina.library.domain.PropagationTask.Source.AUTHOR;
+import static ru.otus.istyazhkina.library.domain.PropagationTask.Source.BOOK;
+import static ru.otus.istyazhkina.library.domain.PropagationTask.Source.GENRE;
+
+@Slf4j
+@Service
+public class PropagationServiceImpl implements PropagationService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int RECENT_TASKS_LIMIT = 100;
+
+    private final BookRepository bookRepository;
+    private final CommentRepository commentRepository;
+    private final CatalogVersions catalogVersions;
+    private final ExecutorService executor;
+    private final Deque<PropagationTask> recentTasks = new ConcurrentLinkedDeque<>();
+
+    public PropagationServiceImpl(BookRepository bookRepository,
+                                  CommentRepository commentRepository,
+                                  CatalogVersions catalogVersions,
+                                  @Value("${library.propagation.async:false}") boolean async,
+                                  @Value("${" + VirtualThreads.PROPERTY + ":false}") boolean virtualThreads) {
+        this.bookRepository = bookRepository;
+        this.commentRepository = commentRepository;
+        this.catalogVersions = catalogVersions;
+        this.executor = async ? VirtualThreads.newSingleThreadExecutor("embedded-copies-propagation", virtualThreads) : null;
+    }
+
+    @Override
+    public PropagationTask propagateAuthor(Author author) {
+        return submit(new PropagationTask(AUTHOR, author.getId()),
+                () -> booksModified(bookRepository.updateEmbeddedAuthor(author)));
+    }
+
+    @Override
+    public PropagationTask propagateGenre(Genre genre) {
+        return submit(new PropagationTask(GENRE, genre.getId()),
+                () -> booksModified(bookRepository.updateEmbeddedGenre(genre)));
+    }
+
+    @Override
+    public PropagationTask propagateBook(Book book) {
+        return submit(new PropagationTask(BOOK, book.getId()), () -> commentRepository.updateBookTitle(book));
+    }
+
+    @Override
+    public List<PropagationTask> getRecentTasks() {
+        return new ArrayList<>(recentTasks);
+    }
+
+    @Override
+    public PropagationTask getTask(String id) throws DataOperationException {
+        return recentTasks.stream()
+                .filter(task -> task.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new DataOperationException("Propagation task by provided ID not found"));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Propagation tasks were not finished before shutdown");
+            executor.shutdownNow();
+        }
+    }
+
+    private long booksModified(long modified) {
+        if (modified > 0) {
+            catalogVersions.bump(CatalogVersions.Catalog.BOOKS);
+        }
+        return modified;
+    }
+
+    private PropagationTask submit(PropagationTask task, LongSupplier update) {
+        recentTasks.addFirst(task);
+        while (recentTasks.size() > RECENT_TASKS_LIMIT) {
+            recentTasks.pollLast();
+        }
+        if (executor == null) {
+            run(task, update);
+            return task;
+        }
+        try {
+            executor.execute(() -> run(task, update));
+        } catch (RejectedExecutionException e) {
+            run(task, update);
+        }
+        return task;
+    }
+
+    private void run(PropagationTask task, LongSupplier update) {
+        while (true) {
+            task.started();
+            try {
+                task.completed(update.getAsLong());
+                log.debug("Propagated {} {} to {} documents", task.getSource(), task.getSourceId(), task.getModified());
+                return;
+            } catch (DataAccessException e) {
+                if (task.getAttempts() >= MAX_ATTEMPTS) {
+                    log.error("Failed to propagate {} {}", task.getSource(), task.getSourceId(), e);
+                    task.failed(e.getMessage());
+                    return;
+                }
+                log.warn("Propagation of {} {} failed, retrying: {}", task.getSource(), task.getSourceId(), e.getMessage());
+            }
+        }
+    }
+}
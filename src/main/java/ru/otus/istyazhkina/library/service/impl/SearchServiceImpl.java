@@ -0,0 +1,120 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.rest.SearchHitDTO;
+import ru.otus.istyazhkina.library.domain.rest.SearchResultDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.SearchService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_PAGE = 20;
+    private static final String SCORE = "score";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public SearchResultDTO search(String query, Set<SearchHitDTO.Type> types, int page, int size) throws DataOperationException {
+        if (!StringUtils.hasText(query)) {
+            throw new DataOperationException("Search query must not be empty");
+        }
+        if (page < 0 || page > MAX_PAGE) {
+            throw new DataOperationException("Search page must be between 0 and " + MAX_PAGE);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int limit = (page + 1) * pageSize + 1;
+        Pattern highlight = highlightPattern(query);
+
+        List<SearchHitDTO> hits = new ArrayList<>();
+        if (types.contains(SearchHitDTO.Type.BOOK)) {
+            hits.addAll(find(query, limit, Book.class, List.of("title", "author.name", "author.surname"),
+                    book -> bookHit(book, highlight)));
+        }
+        if (types.contains(SearchHitDTO.Type.AUTHOR)) {
+            hits.addAll(find(query, limit, Author.class, List.of("name", "surname"),
+                    author -> authorHit(author, highlight)));
+        }
+        if (types.contains(SearchHitDTO.Type.COMMENT)) {
+            hits.addAll(find(query, limit, Comment.class, List.of("content", "bookId"),
+                    comment -> commentHit(comment, highlight)));
+        }
+        hits.sort(Comparator.comparingDouble(SearchHitDTO::getScore).reversed());
+
+        int from = Math.min(page * pageSize, hits.size());
+        int to = Math.min(from + pageSize, hits.size());
+        // the page after the last allowed one would be rejected, so it is never advertised
+        return new SearchResultDTO(query, page, pageSize, page < MAX_PAGE && hits.size() > to, new ArrayList<>(hits.subList(from, to)));
+    }
+
+    private List<SearchHitDTO> find(String query, int limit, Class<?> entityClass, List<String> fields,
+                                    Function<Document, SearchHitDTO> mapper) {
+        TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(query))
+                .includeScore(SCORE)
+                .sortByScore();
+        textQuery.with(PageRequest.of(0, limit));
+        fields.forEach(field -> textQuery.fields().include(field));
+        return mongoTemplate.find(textQuery, Document.class, mongoTemplate.getCollectionName(entityClass)).stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    private static SearchHitDTO bookHit(Document book, Pattern highlight) {
+        Document author = book.get("author", Document.class);
+        String title = book.getString("title");
+        String text = author == null ? title : title + " — " + author.getString("name") + " " + author.getString("surname");
+        String id = book.get("_id").toString();
+        return new SearchHitDTO(SearchHitDTO.Type.BOOK, id, id, text, highlight(text, highlight), score(book));
+    }
+
+    private static SearchHitDTO authorHit(Document author, Pattern highlight) {
+        String text = author.getString("name") + " " + author.getString("surname");
+        return new SearchHitDTO(SearchHitDTO.Type.AUTHOR, author.get("_id").toString(), null, text, highlight(text, highlight), score(author));
+    }
+
+    private static SearchHitDTO commentHit(Document comment, Pattern highlight) {
+        String text = comment.getString("content");
+        return new SearchHitDTO(SearchHitDTO.Type.COMMENT, comment.get("_id").toString(), comment.getString("bookId"),
+                text, highlight(text, highlight), score(comment));
+    }
+
+    private static double score(Document document) {
+        Number score = document.get(SCORE, Number.class);
+        return score == null ? 0 : score.doubleValue();
+    }
+
+    private static Pattern highlightPattern(String query) {
+        String terms = Arrays.stream(query.split("[\\s\"-]+"))
+                .filter(term -> term.length() > 1)
+                .map(term -> Pattern.quote(HtmlUtils.htmlEscape(term)))
+                .collect(Collectors.joining("|"));
+        return terms.isEmpty() ? null : Pattern.compile("(?iu)(?<![\\p{L}\\p{N}])(?:" + terms + ")[\\p{L}\\p{N}]*");
+    }
+
+    private static String highlight(String text, Pattern pattern) {
+        String escaped = HtmlUtils.htmlEscape(text == null ? "" : text);
+        return pattern == null ? escaped : pattern.matcher(escaped).replaceAll("<em>$0</em>");
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.istyazhkina.library.suggest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.repository.AuthorRepository;
+
+import java.util.List;
+
+/**
+ * In-memory prefix index over author names, matched both as "name surname" and "surname name".
+ * <p>
+ * Loaded once the application context is ready and kept in sync by the author event listener for saves and
+ * deletes, and by the services for updates that bypass entity events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorSuggestions implements SmartInitializingSingleton {
+
+    private final AuthorRepository authorRepository;
+    private final PrefixIndex<Author> index = new PrefixIndex<>(Author::getId,
+            author -> List.of(author.getName() + " " + author.getSurname(), author.getSurname() + " " + author.getName()));
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public void reload() {
+        index.replaceAll(authorRepository.findAllBy());
+        log.info("Author suggestions index loaded with {} keys", index.size());
+    }
+
+    public List<Author> suggest(String prefix, int limit) {
+        return index.find(prefix, limit);
+    }
+
+    public void put(Author author) {
+        index.put(new Author(author.getId(), author.getName(), author.getSurname()));
+    }
+
+    public void remove(String authorId) {
+        index.remove(authorId);
+    }
+}
@@ -0,0 +1,188 @@
+package ru.otus.istyazhkina.library.suggest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted array of normalized keys for prefix lookups.
+ * <p>
+ * Lookups are a binary search over an immutable snapshot followed by a scan of the matching range, so they
+ * never block. Writes are serialized and merge the change into a fresh copy of the arrays, which costs a
+ * linear copy per write and suits data that is read far more often than it is changed.
+ *
+ * @param <T> indexed value, one value is reachable by each of its keys
+ */
+public class PrefixIndex<T> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final Function<T, String> idFunction;
+    private final Function<T, Collection<String>> keysFunction;
+    private final Map<String, T> valuesById = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Object[0]);
+
+    public PrefixIndex(Function<T, String> idFunction, Function<T, Collection<String>> keysFunction) {
+        this.idFunction = idFunction;
+        this.keysFunction = keysFunction;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> find(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        int position = Arrays.binarySearch(current.keys, normalizedPrefix);
+        if (position < 0) {
+            position = -position - 1;
+        } else {
+            while (position > 0 && current.keys[position - 1].equals(normalizedPrefix)) {
+                position--;
+            }
+        }
+        Set<T> result = new LinkedHashSet<>();
+        for (int i = position; i < current.keys.length && result.size() < limit && current.keys[i].startsWith(normalizedPrefix); i++) {
+            result.add((T) current.values[i]);
+        }
+        return new ArrayList<>(result);
+    }
+
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    public synchronized void replaceAll(Collection<T> values) {
+        valuesById.clear();
+        snapshot = new Snapshot(new String[0], new Object[0]);
+        putAll(values);
+    }
+
+    public void put(T value) {
+        putAll(List.of(value));
+    }
+
+    public synchronized void putAll(Collection<T> values) {
+        Map<String, T> added = new LinkedHashMap<>();
+        values.forEach(value -> added.put(idFunction.apply(value), value));
+        List<T> removed = new ArrayList<>();
+        added.forEach((id, value) -> {
+            T previous = valuesById.put(id, value);
+            if (previous != null) {
+                removed.add(previous);
+            }
+        });
+        apply(removed, added.values());
+    }
+
+    public synchronized void remove(String id) {
+        T previous = valuesById.remove(id);
+        if (previous != null) {
+            apply(List.of(previous), Collections.emptyList());
+        }
+    }
+
+    private void apply(Collection<T> removed, Collection<T> added) {
+        Snapshot current = snapshot;
+        boolean[] dropped = new boolean[current.keys.length];
+        int droppedCount = 0;
+        for (Entry entry : entries(removed)) {
+            int index = current.indexOf(entry);
+            if (index >= 0 && !dropped[index]) {
+                dropped[index] = true;
+                droppedCount++;
+            }
+        }
+        List<Entry> addedEntries = entries(added);
+        addedEntries.sort(Comparator.comparing(entry -> entry.key));
+
+        int size = current.keys.length - droppedCount + addedEntries.size();
+        String[] keys = new String[size];
+        Object[] values = new Object[size];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < size; k++) {
+            while (i < current.keys.length && dropped[i]) {
+                i++;
+            }
+            boolean takeCurrent = j == addedEntries.size()
+                    || (i < current.keys.length && current.keys[i].compareTo(addedEntries.get(j).key) <= 0);
+            if (takeCurrent) {
+                keys[k] = current.keys[i];
+                values[k] = current.values[i++];
+            } else {
+                Entry entry = addedEntries.get(j++);
+                keys[k] = entry.key;
+                values[k] = entry.value;
+            }
+        }
+        snapshot = new Snapshot(keys, values);
+    }
+
+    private List<Entry> entries(Collection<T> values) {
+        List<Entry> entries = new ArrayList<>();
+        for (T value : values) {
+            keysFunction.apply(value).stream()
+                    .map(PrefixIndex::normalize)
+                    .filter(key -> !key.isEmpty())
+                    .distinct()
+                    .forEach(key -> entries.add(new Entry(key, value)));
+        }
+        return entries;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutDiacritics = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(withoutDiacritics.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final String key;
+        private final Object value;
+    }
+
+    @RequiredArgsConstructor
+    private static class Snapshot {
+        private final String[] keys;
+        private final Object[] values;
+
+        private int indexOf(Entry entry) {
+            int position = Arrays.binarySearch(keys, entry.key);
+            if (position < 0) {
+                return -1;
+            }
+            for (int i = position; i >= 0 && keys[i].equals(entry.key); i--) {
+                if (values[i] == entry.value) {
+                    return i;
+                }
+            }
+            for (int i = position + 1; i < keys.length && keys[i].equals(entry.key); i++) {
+                if (values[i] == entry.value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -1,5 +1,5 @@
-function loadAllBooksData() {
-    $.get("/api/books").done(function (books) {
+function loadAllBooksData(after) {
+    $.get("/api/books", after ? {after: after} : {}).done(function (books, status, xhr) {
         books.forEach(function (book) {
             $("tbody").append(`
               <tr class="table_row">
@@ -15,7 +15,17 @@ function loadAllBooksData() {
                     </td>
                 </tr>
             `);
-        })
+        });
+        const nextCursor = xhr.getResponseHeader("X-Next-Cursor");
+        const loadMore = $("#load_more");
+        loadMore.off("click");
+        if (nextCursor) {
+            loadMore.show().on("click", function () {
+                loadAllBooksData(nextCursor);
+            });
+        } else {
+            loadMore.hide();
+        }
     });
 }
 
@@ -27,16 +37,17 @@ function loadBookData() {
             <form action="/books/add" class="item_form" id="add-book" method="post" onsubmit="addBook(); return false;">
                 <label class="item_label" for="book_title">Title</label>
                 <input class="item_input" id="book_title" value="" required>
-                <label class="item_label" for="book_author">Author</label>
-                <select class="item_select" id="book_author">
-                </select>
+                <label class="item_label" for="book_author_name">Author</label>
+                <input class="item_input" id="book_author_name" list="book_author_options" autocomplete="off" required>
+                <datalist id="book_author_options"></datalist>
+                <input type="hidden" id="book_author" value="">
                 <label class="item_label" for="book_genre">Genre</label>
                 <select class="item_select" id="book_genre">
                 </select>
                 <button class="item_btn" type="submit" id="save">Save</button>
             </form>
         `);
-        getAuthors();
+        bindAuthorSuggestions();
         getGenres();
     } else {
 
@@ -47,9 +58,10 @@ function loadBookData() {
                         <input class="item_input book_input--disabled" id="book_id"  value="${book.id}" disabled>
                     <label class="item_label" for="book_title">Title</label>
                         <input class="item_input" id="book_title" value="${book.title}" required>
-                    <label class="item_label" for="book_author">Author</label>
-                        <select class="item_select" id="book_author" name="author">
-                        </select>
+                    <label class="item_label" for="book_author_name">Author</label>
+                        <input class="item_input" id="book_author_name" list="book_author_options" autocomplete="off" required>
+                        <datalist id="book_author_options"></datalist>
+                        <input type="hidden" id="book_author" name="author" value="">
                         <label class="item_label" for="book_genre">Genre</label>
                         <select class="item_select" id="book_genre" name="genre">
                         </select>
@@ -57,37 +69,42 @@ function loadBookData() {
                 </form> 
 
             `);
-            getAuthorsAndSelect(book.authorDTO.id);
+            bindAuthorSuggestions();
+            selectAuthor(book.authorDTO);
             getGenresAndSelect(book.genreDTO.id)
         });
     }
 }
 
-function getAuthors() {
-    $.get("/api/authors").done(function (authors) {
-        authors.forEach(function (author) {
-            $("#book_author").append(`
-                    <option value=${author.id}>
-                        ${author.name} ${author.surname}
-                    </option>
-                `);
-        })
-    });
-}
+let authorSuggestTimer;
 
-function getAuthorsAndSelect(author) {
-    $.get("/api/authors").done(function (authors) {
-        authors.forEach(function (author) {
-            $("#book_author").append(`
-                    <option value=${author.id}>
-                        ${author.name} ${author.surname}
-                    </option>
-                `);
+function bindAuthorSuggestions() {
+    $("#book_author_name").on("input", function () {
+        const name = this.value;
+        const selected = $("#book_author_options option").filter(function () {
+            return this.value === name;
         });
-        $("#book_author").val(author);
+        $("#book_author").val(selected.length ? selected.data("id") : "");
+        clearTimeout(authorSuggestTimer);
+        if (selected.length || !name.trim()) {
+            return;
+        }
+        authorSuggestTimer = setTimeout(function () {
+            $.get("/api/authors/suggest", {prefix: name, limit: 10}).done(function (authors) {
+                const options = $("#book_author_options").empty();
+                authors.forEach(function (author) {
+                    options.append($("<option>").val(`${author.name} ${author.surname}`).data("id", author.id));
+                });
+            });
+        }, 150);
     });
 }
 
+function selectAuthor(author) {
+    $("#book_author_name").val(`${author.name} ${author.surname}`);
+    $("#book_author").val(author.id);
+}
+
 function getGenres() {
     $.get("/api/genres").done(function (genres) {
         genres.forEach(function (genre) {
@@ -0,0 +1,103 @@
+package ru.otus.istyazhkina.library.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.listener.BookCommentsCleaner;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@DataMongoTest
+@Import(CatalogCounters.class)
+class CatalogCountersTest {
+
+    @Autowired
+    private CatalogCounters catalogCounters;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Test
+    void shouldCountBooksAndCommentsFromScratch() {
+        mongoTemplate.updateMulti(new Query(), new Update().unset(CatalogCounters.BOOK_COUNT), Author.class);
+        mongoTemplate.updateMulti(new Query(), new Update().unset(CatalogCounters.BOOK_COUNT), Genre.class);
+        mongoTemplate.updateMulti(new Query(), new Update().unset(CatalogCounters.COMMENT_COUNT), Book.class);
+
+        catalogCounters.reconcile();
+
+        assertThat(catalogCounters.bookCountOfAuthor("12345")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfAuthor("12348")).isZero();
+        assertThat(catalogCounters.bookCountOfGenre("2136")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfGenre("2137")).isZero();
+        assertThat(catalogCounters.commentCountOfBook("45634")).isEqualTo(2);
+        assertThat(catalogCounters.commentCountOfBook("45633")).isZero();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldMoveBookBetweenAuthorsAndGenres() {
+        catalogCounters.bookMoved("12345", "2134", "12348", "2134");
+
+        assertThat(catalogCounters.bookCountOfAuthor("12345")).isZero();
+        assertThat(catalogCounters.bookCountOfAuthor("12348")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfGenre("2134")).isEqualTo(1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldRestoreDriftedAndMissingCountersOnReconcile() {
+        catalogCounters.commentAdded("45632");
+        catalogCounters.bookRemoved("12347", "2136");
+        mongoTemplate.updateFirst(Query.query(where("id").is("12346")), new Update().unset(CatalogCounters.BOOK_COUNT), Author.class);
+        assertThat(catalogCounters.commentCountOfBook("45632")).isEqualTo(2);
+        assertThat(catalogCounters.bookCountOfAuthor("12346")).isZero();
+
+        catalogCounters.reconcile();
+
+        assertThat(catalogCounters.commentCountOfBook("45632")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfAuthor("12347")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfGenre("2136")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfAuthor("12346")).isEqualTo(1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldDeleteCommentsLeftByFailedAsyncCleanup() throws InterruptedException {
+        CommentRepository failingRepository = mock(CommentRepository.class);
+        when(failingRepository.deleteAllByBookId("45634")).thenThrow(new DataAccessResourceFailureException("Connection reset"));
+        BookCommentsCleaner cleaner = new BookCommentsCleaner(failingRepository, meterRegistry, true, false);
+
+        mongoTemplate.remove(Query.query(where("id").is("45634")), Book.class);
+        cleaner.deleteCommentsOf("45634");
+        cleaner.shutdown();
+        verify(failingRepository).deleteAllByBookId("45634");
+        assertThat(commentRepository.findAllByBookId("45634")).hasSize(2);
+
+        catalogCounters.reconcile();
+
+        assertThat(commentRepository.findAllByBookId("45634")).isEmpty();
+        assertThat(commentRepository.findById("9087")).isPresent();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.otus.istyazhkina.library.changelogs;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+class CompactCommentsChangeLogTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldReplaceEmbeddedBookWithBookIdAndTitle() {
+        ObjectId bookId = new ObjectId();
+        MongoCollection<Document> comments = mongoTemplate.getCollection("comment");
+        comments.createIndex(Indexes.ascending("book._id"));
+        comments.insertOne(new Document("_id", "legacy")
+                .append("content", "Legacy comment")
+                .append("book", new Document("_id", bookId)
+                        .append("title", "The Idiot")
+                        .append("author", new Document("_id", "1").append("name", "Fyodor").append("surname", "Dostoevsky"))
+                        .append("genre", new Document("_id", "2").append("name", "novel"))));
+
+        new CompactCommentsChangeLog().compactComments(mongoTemplate.getDb());
+
+        Document migrated = comments.find(new Document("_id", "legacy")).first();
+        assertThat(migrated).doesNotContainKey("book");
+        assertThat(commentRepository.findById("legacy")).get()
+                .isEqualTo(new Comment("legacy", "Legacy comment", bookId.toHexString(), "The Idiot"));
+        assertThat(comments.listIndexes())
+                .noneMatch(index -> index.get("key", Document.class).containsKey("book._id"));
+    }
+}
@@ -3,6 +3,10 @@ package ru.otus.istyazhkina.library.changelogs.test;
 import com.github.cloudyrock.mongock.ChangeLog;
 import com.github.cloudyrock.mongock.ChangeSet;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Comment;
@@ -61,5 +65,18 @@ public class InitTestMongoDBDataChangeLog {
         commentRepository.save(new Comment("9089", "Nominated for the Carnegie Medal and awarded a prize from the New York Herald Tribune for best juvenile fiction", books.get(2)));
     }
 
+    @ChangeSet(order = "005", id = "initCounters", author = "irinastyazhkina", runAlways = true)
+    public void initCounters(MongoDatabase mongoDatabase) {
+        setCounter(mongoDatabase, "author", CatalogCounters.BOOK_COUNT, List.of("12345", "12346", "12347"), 1);
+        setCounter(mongoDatabase, "genre", CatalogCounters.BOOK_COUNT, List.of("2134", "2135", "2136"), 1);
+        setCounter(mongoDatabase, "book", CatalogCounters.COMMENT_COUNT, List.of("45632"), 1);
+        setCounter(mongoDatabase, "book", CatalogCounters.COMMENT_COUNT, List.of("45634"), 2);
+    }
+
+    private static void setCounter(MongoDatabase mongoDatabase, String collection, String counter, List<String> ids, long value) {
+        mongoDatabase.getCollection(collection, Document.class)
+                .updateMany(Filters.in("_id", ids), Updates.set(counter, value));
+    }
+
 
 }
@@ -0,0 +1,65 @@
+package ru.otus.istyazhkina.library.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(MongoIndexesInitializer.class)
+class MongoIndexesInitializerTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void shouldCreateIndexesForBookQueries() {
+        assertThat(mongoTemplate.indexOps(Book.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("title", "author_id", "genre_id");
+    }
+
+    @Test
+    void shouldCreateIndexForCommentsByBookOrderedById() {
+        assertThat(mongoTemplate.indexOps(Comment.class).getIndexInfo())
+                .filteredOn(index -> index.getName().equals("bookId_id"))
+                .allMatch(index -> index.getIndexFields().size() == 2
+                        && index.getIndexFields().get(0).getKey().equals("bookId")
+                        && index.getIndexFields().get(1).getKey().equals("_id"))
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldCreateUniqueIndexesForGenreAndAuthorNames() {
+        assertThat(mongoTemplate.indexOps(Genre.class).getIndexInfo())
+                .filteredOn(index -> index.getName().equals("name"))
+                .allMatch(IndexInfo::isUnique)
+                .hasSize(1);
+        assertThat(mongoTemplate.indexOps(Author.class).getIndexInfo())
+                .filteredOn(index -> index.getName().equals("name_surname"))
+                .allMatch(IndexInfo::isUnique)
+                .hasSize(1);
+    }
+
+    @Test
+    void shouldCreateTextIndexesForSearch() {
+        assertThat(mongoTemplate.indexOps(Book.class).getIndexInfo())
+                .filteredOn(index -> index.getName().equals("book_text"))
+                .allMatch(index -> index.getIndexFields().size() == 3)
+                .hasSize(1);
+        assertThat(mongoTemplate.indexOps(Author.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("author_text");
+        assertThat(mongoTemplate.indexOps(Comment.class).getIndexInfo())
+                .extracting(IndexInfo::getName)
+                .contains("comment_text");
+    }
+}
@@ -0,0 +1,39 @@
+package ru.otus.istyazhkina.library.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import ru.otus.istyazhkina.library.service.BookService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = VirtualThreads.PROPERTY + "=true")
+class VirtualThreadsConfigTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(VirtualThreads.isSupported(), "virtual threads require Java 21 or later");
+    }
+
+    @Test
+    void shouldStartWithTaskSchedulerAndRunTasksOnVirtualThreads() throws Exception {
+        assertThat(bookService).isNotNull();
+        Thread thread = applicationTaskExecutor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertThat(thread.getName()).startsWith("task-vt-");
+    }
+}
@@ -0,0 +1,41 @@
+package ru.otus.istyazhkina.library.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadsTest {
+
+    @Test
+    void shouldRunOnNamedDaemonPlatformThreadWhenVirtualThreadsAreOff() throws Exception {
+        ExecutorService executor = VirtualThreads.newSingleThreadExecutor("test-worker", false);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.getName()).isEqualTo("test-worker");
+            assertThat(thread.isDaemon()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRunOnNamedThreadsWhenSupported() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThatThrownBy(() -> VirtualThreads.factory("test-")).isInstanceOf(IllegalStateException.class);
+            return;
+        }
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(thread.getName()).startsWith("test-");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.otus.istyazhkina.library.faults;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RandomFaultInjectorTest {
+
+    @Test
+    void shouldThrowWhenErrorProbabilityIsOne() {
+        FaultInjectionProperties.CommandFaults faults = new FaultInjectionProperties.CommandFaults();
+        faults.setErrorProbability(1);
+
+        assertThatThrownBy(() -> injector("books", faults).inject("books"))
+                .isInstanceOf(InjectedFaultException.class)
+                .hasMessageContaining("books");
+    }
+
+    @Test
+    void shouldNotInjectAnythingForUnconfiguredCommand() {
+        FaultInjectionProperties.CommandFaults faults = new FaultInjectionProperties.CommandFaults();
+        faults.setErrorProbability(1);
+
+        assertThatCode(() -> injector("books", faults).inject("genres")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotInjectAnythingWithZeroProbabilities() {
+        FaultInjectionProperties.CommandFaults faults = new FaultInjectionProperties.CommandFaults();
+        faults.setMinLatency(Duration.ofMinutes(1));
+        faults.setMaxLatency(Duration.ofMinutes(1));
+
+        assertThatCode(() -> injector("books", faults).inject("books")).doesNotThrowAnyException();
+    }
+
+    private static RandomFaultInjector injector(String commandKey, FaultInjectionProperties.CommandFaults faults) {
+        FaultInjectionProperties properties = new FaultInjectionProperties();
+        properties.setCommands(Map.of(commandKey, faults));
+        return new RandomFaultInjector(properties);
+    }
+}
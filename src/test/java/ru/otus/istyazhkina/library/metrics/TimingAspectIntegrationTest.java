@@ -0,0 +1,34 @@
+package ru.otus.istyazhkina.library.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.CommentService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TimingAspectIntegrationTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeServiceRepositoryAndMongoCommands() throws DataOperationException {
+        commentService.getCommentsPage("45634", null, 50);
+
+        assertThat(meterRegistry.find(TimingAspect.SERVICE_TIMER)
+                .tags("class", "CommentServiceImpl", "method", "getCommentsPage").timer())
+                .isNotNull()
+                .matches(timer -> timer.count() == 1);
+        assertThat(meterRegistry.find(TimingAspect.REPOSITORY_TIMER)
+                .tags("class", "CommentRepository", "method", "findPageByBookId").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find("mongodb.driver.commands").timer()).isNotNull();
+    }
+}
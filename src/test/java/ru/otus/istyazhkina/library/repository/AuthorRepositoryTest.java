@@ -4,12 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
+import ru.otus.istyazhkina.library.config.MongoIndexesInitializer;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
 import ru.otus.istyazhkina.library.listener.MongoAuthorOperationsEventListener;
+import ru.otus.istyazhkina.library.suggest.AuthorSuggestions;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +23,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 @DataMongoTest
-@Import(MongoAuthorOperationsEventListener.class)
+@Import({MongoAuthorOperationsEventListener.class, MongoIndexesInitializer.class, AuthorSuggestions.class, CatalogVersions.class, CatalogCounters.class})
 class AuthorRepositoryTest {
 
     @Autowired
@@ -28,6 +32,9 @@ class AuthorRepositoryTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private AuthorSuggestions authorSuggestions;
+
     @Test
     void shouldReturnAuthorForExistingId() {
         Optional<Author> actualAuthor = authorRepository.findById("12345");
@@ -77,8 +84,7 @@ class AuthorRepositoryTest {
     void shouldNotInsertAuthorWithSameNameAndSurname() {
         Author authorToInsert = new Author("Lev", "Tolstoy");
         assertThatThrownBy(() -> authorRepository.save(authorToInsert))
-                .isInstanceOf(IllegalSaveOperationException.class)
-                .hasMessage("Same author already exists");
+                .isInstanceOf(DuplicateKeyException.class);
     }
 
     @Test
@@ -99,8 +105,30 @@ class AuthorRepositoryTest {
     void shouldThrowExceptionWhileUpdateIfAuthorWithNewNameExists() {
         Author authorToUpdate = new Author("12347", "Lev", "Tolstoy");
         assertThatThrownBy(() -> authorRepository.save(authorToUpdate))
-                .isInstanceOf(IllegalSaveOperationException.class)
-                .hasMessage("Same author already exists");
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldUpdateNameAndReturnPreviousAuthor() {
+        String authorId = "12346";
+        Author authorFromDB = mongoTemplate.findById(authorId, Author.class);
+
+        Optional<Author> previous = authorRepository.updateName(authorId, "Aleksander", "Pushkin");
+        assertThat(previous).get().isEqualTo(authorFromDB);
+        assertThat(mongoTemplate.findById(authorId, Author.class)).isEqualTo(new Author(authorId, "Aleksander", "Pushkin"));
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalWhileUpdatingNameOfMissingAuthor() {
+        assertThat(authorRepository.updateName("12134", "Ivan", "Ivanov")).isEmpty();
+        assertThat(authorRepository.findByNameAndSurname("Ivan", "Ivanov")).isEmpty();
+    }
+
+    @Test
+    void shouldThrowExceptionWhileUpdatingNameToExistingOne() {
+        assertThatThrownBy(() -> authorRepository.updateName("12347", "Lev", "Tolstoy"))
+                .isInstanceOf(DuplicateKeyException.class);
     }
 
     @Test
@@ -121,4 +149,19 @@ class AuthorRepositoryTest {
         assertThatThrownBy(() -> authorRepository.deleteById("12345")).isInstanceOf(IllegalDeleteOperationException.class)
                 .hasMessage("Can not delete author because exists book with this author");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLoadExistingAuthorsIntoSuggestions() {
+        assertThat(authorSuggestions.suggest("tolst", 10)).containsExactly(new Author("12345", "Lev", "Tolstoy"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldSyncSuggestionsOnSaveAndDelete() {
+        Author saved = authorRepository.save(new Author("Ivan", "Turgenev"));
+        assertThat(authorSuggestions.suggest("Iv", 10)).containsExactly(saved);
+
+        authorRepository.deleteById(saved.getId());
+        assertThat(authorSuggestions.suggest("Iv", 10)).isEmpty();
+    }
+}
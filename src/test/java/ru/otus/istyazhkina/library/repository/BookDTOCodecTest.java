@@ -0,0 +1,49 @@
+package ru.otus.istyazhkina.library.repository;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookDTOCodecTest {
+
+    private final BookDTOCodec codec = new BookDTOCodec();
+
+    @Test
+    void shouldDecodeBookDocumentSkippingUnknownFields() {
+        BsonDocument document = BsonDocument.parse("{'_id': {'$oid': '5fd0c5a3e7b1c21b4c6e1a01'}, 'title': 'War and Peace', "
+                + "'author': {'_id': '12345', 'name': 'Lev', 'surname': 'Tolstoy'}, "
+                + "'genre': {'_id': '2134', 'name': 'novel', 'extra': [1, 2]}, "
+                + "'_class': 'ru.otus.istyazhkina.library.domain.entity.Book'}");
+
+        BookDTO book = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        assertThat(book).isEqualTo(new BookDTO("5fd0c5a3e7b1c21b4c6e1a01", "War and Peace",
+                new AuthorDTO("12345", "Lev", "Tolstoy"), new GenreDTO("2134", "novel")));
+    }
+
+    @Test
+    void shouldDecodeMissingAndNullFieldsAsNull() {
+        BsonDocument document = BsonDocument.parse("{'_id': '45632', 'title': null, 'author': null}");
+
+        BookDTO book = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        assertThat(book).isEqualTo(new BookDTO("45632", null, null, null));
+    }
+
+    @Test
+    void shouldDecodeWhatItEncodes() {
+        BookDTO book = new BookDTO("45634", "The Hobbit", new AuthorDTO("12347", "John", "Tolkien"), new GenreDTO("2136", "fantasy"));
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), book, EncoderContext.builder().build());
+
+        assertThat(codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build())).isEqualTo(book);
+    }
+}
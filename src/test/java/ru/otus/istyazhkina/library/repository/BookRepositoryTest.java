@@ -4,16 +4,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Comment;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
+import ru.otus.istyazhkina.library.listener.BookCommentsCleaner;
 import ru.otus.istyazhkina.library.listener.MongoBookOperationsEventListener;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +30,7 @@ import static org.springframework.data.mongodb.core.aggregation.Aggregation.matc
 import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
 
 @DataMongoTest
-@Import(MongoBookOperationsEventListener.class)
+@Import({MongoBookOperationsEventListener.class, BookCommentsCleaner.class, CatalogVersions.class, CatalogCounters.class})
 class BookRepositoryTest {
 
     @Autowired
@@ -34,6 +42,9 @@ class BookRepositoryTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private CatalogCounters catalogCounters;
+
     @Test
     void shouldReturnBookForExistingId() {
         Optional<Book> actualBook = bookRepository.findById("45632");
@@ -91,6 +102,27 @@ class BookRepositoryTest {
         assertThat(result)
                 .usingRecursiveComparison().isEqualTo(infoToUpdate)
                 .isNotEqualTo(bookFromDB);
+        assertThat(catalogCounters.bookCountOfAuthor(bookFromDB.getAuthor().getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldUpdateBookAndReturnPreviousOne() {
+        String bookId = "45632";
+        Book bookFromDB = mongoTemplate.findById(bookId, Book.class);
+        Author author = new Author("12348", "Aleksandr", "Kuprin");
+        Genre genre = new Genre("2134", "novel");
+
+        Optional<Book> previous = bookRepository.update(bookId, "The Duel", author, genre);
+        assertThat(previous).get().isEqualTo(bookFromDB);
+        assertThat(mongoTemplate.findById(bookId, Book.class)).isEqualTo(new Book(bookId, "The Duel", author, genre));
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalWhileUpdatingMissingBook() {
+        assertThat(bookRepository.update("10", "The Duel", new Author("12348", "Aleksandr", "Kuprin"), new Genre("2134", "novel")))
+                .isEmpty();
+        assertThat(bookRepository.count()).isEqualTo(3);
     }
 
     @Test
@@ -110,7 +142,7 @@ class BookRepositoryTest {
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     void shouldDeleteCommentsForDeletedBook() {
         String bookId = "45634";
-        Aggregation aggregation = newAggregation(match(Criteria.where("book_id").is(bookId)));
+        Aggregation aggregation = newAggregation(match(Criteria.where("bookId").is(bookId)));
         Optional<Book> bookFromDB = bookRepository.findById(bookId);
         assertThat(bookFromDB).isPresent();
 
@@ -121,6 +153,35 @@ class BookRepositoryTest {
         assertThat(mongoTemplate.aggregate(aggregation, Comment.class, Comment.class).getMappedResults()).isEmpty();
     }
 
+    @Test
+    void shouldReturnFirstPageOfBooksOrderedById() {
+        Slice<BookDTO> page = bookRepository.findListPage(null, 2);
+        assertThat(page.getContent()).extracting(BookDTO::getId).containsExactly("45632", "45633");
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldReturnBooksPageAfterProvidedId() {
+        Slice<BookDTO> page = bookRepository.findListPage("45633", 2);
+        assertThat(page.getContent()).extracting(BookDTO::getId).containsExactly("45634");
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldDecodeOnlyRenderedFieldsForBookListPage() {
+        BookDTO book = bookRepository.findListPage(null, 1).getContent().get(0);
+        assertThat(book).isEqualTo(new BookDTO("45632", "War and Peace",
+                new AuthorDTO(null, "Lev", "Tolstoy"), new GenreDTO(null, "novel")));
+    }
+
+    @Test
+    void shouldStreamAllBooksAsDtos() {
+        List<BookDTO> books = new ArrayList<>();
+        bookRepository.forEachBookDto(books::add);
+        assertThat(books).hasSize(3).contains(new BookDTO("45634", "The Hobbit",
+                new AuthorDTO("12347", "John", "Tolkien"), new GenreDTO("2136", "fantasy")));
+    }
+
     @Test
     void shouldReturnAllBooksCount() {
         assertThat(bookRepository.count()).isEqualTo(3L);
@@ -3,17 +3,21 @@ package ru.otus.istyazhkina.library.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Comment;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataMongoTest
 class CommentRepositoryTest {
@@ -31,7 +35,8 @@ class CommentRepositoryTest {
         Optional<Comment> actualComment = commentRepository.findById("9087");
         assertThat(actualComment).isPresent().get()
                 .matches(comment -> comment.getContent().equals("The 10 Greatest Books of All Time"))
-                .matches(comment -> comment.getBook().equals(testBook));
+                .matches(comment -> comment.getBookId().equals(testBook.getId()))
+                .matches(comment -> comment.getBookTitle().equals(testBook.getTitle()));
     }
 
     @Test
@@ -56,7 +61,8 @@ class CommentRepositoryTest {
 
         assertThat(savedComment)
                 .matches(comment -> comment.getContent().equals("Golden collection"))
-                .matches(comment -> comment.getBook().equals(testBook));
+                .matches(comment -> comment.getBookId().equals(testBook.getId()))
+                .matches(comment -> comment.getBookTitle().equals(testBook.getTitle()));
     }
 
     @Test
@@ -64,7 +70,7 @@ class CommentRepositoryTest {
     void shouldUpdateExistingComment() {
         String commentId = "9087";
         Comment commentFromDB = mongoTemplate.findById(commentId, Comment.class);
-        Comment infoToUpdate = new Comment(commentId, "The best of Russian classics", commentFromDB.getBook());
+        Comment infoToUpdate = new Comment(commentId, "The best of Russian classics", commentFromDB.getBookId(), commentFromDB.getBookTitle());
         Comment result = commentRepository.save(infoToUpdate);
 
         assertThat(result).usingRecursiveComparison()
@@ -92,4 +98,54 @@ class CommentRepositoryTest {
                 commentRepository.findById("9088").get(),
                 commentRepository.findById("9089").get());
     }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldDeleteAllCommentsOfBookAndReturnTheirCount() {
+        long deleted = commentRepository.deleteAllByBookId("45634");
+        assertThat(deleted).isEqualTo(2);
+        assertThat(commentRepository.findAllByBookId("45634")).isEmpty();
+        assertThat(commentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldUpdateContentAndReturnUpdatedComment() {
+        Optional<Comment> updated = commentRepository.updateContent("9087", "The best of Russian classics");
+
+        assertThat(updated).get()
+                .isEqualTo(new Comment("9087", "The best of Russian classics", testBook));
+        assertThat(commentRepository.updateContent("10", "Nothing")).isEmpty();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldRemoveCommentAndReturnIt() {
+        assertThat(commentRepository.removeById("9088")).get()
+                .matches(comment -> comment.getBookId().equals("45634"));
+        assertThat(commentRepository.removeById("9088")).isEmpty();
+        assertThat(commentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnBookCommentsPageByPageOrderedById() {
+        Slice<CommentDTO> first = commentRepository.findPageByBookId("45634", null, 1);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getContent()).extracting(CommentDTO::getId, CommentDTO::getBookId)
+                .containsExactly(tuple("9088", "45634"));
+
+        Slice<CommentDTO> second = commentRepository.findPageByBookId("45634", "9088", 1);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).extracting(CommentDTO::getId).containsExactly("9089");
+
+        assertThat(commentRepository.findPageByBookId("45634", "9089", 1).getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldVisitEveryComment() {
+        List<CommentDTO> comments = new ArrayList<>();
+        commentRepository.forEachCommentDto(comments::add);
+        assertThat(comments).extracting(CommentDTO::getId).containsExactlyInAnyOrder("9087", "9088", "9089");
+        assertThat(comments).allMatch(comment -> comment.getContent() != null && comment.getBookId() != null);
+    }
 }
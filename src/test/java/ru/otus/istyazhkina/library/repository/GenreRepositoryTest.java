@@ -4,11 +4,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
+import ru.otus.istyazhkina.library.config.MongoIndexesInitializer;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 import ru.otus.istyazhkina.library.exception.IllegalDeleteOperationException;
-import ru.otus.istyazhkina.library.exception.IllegalSaveOperationException;
 import ru.otus.istyazhkina.library.listener.MongoGenreOperationsEventListener;
 
 import java.util.List;
@@ -18,7 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataMongoTest
-@Import(MongoGenreOperationsEventListener.class)
+@Import({MongoGenreOperationsEventListener.class, MongoIndexesInitializer.class, CatalogVersions.class, CatalogCounters.class})
 class GenreRepositoryTest {
 
     @Autowired
@@ -72,8 +75,7 @@ class GenreRepositoryTest {
     void shouldNotInsertGenreWithSameName() {
         Genre genreToInsert = new Genre("novel");
         assertThatThrownBy(() -> genreRepository.save(genreToInsert))
-                .isInstanceOf(IllegalSaveOperationException.class)
-                .hasMessage("Same genre already exists");
+                .isInstanceOf(DuplicateKeyException.class);
     }
 
     @Test
@@ -94,8 +96,7 @@ class GenreRepositoryTest {
     void shouldThrowExceptionWhileUpdateIfGenreWithNewNameExists() {
         Genre genreToUpdate = new Genre("2135", "novel");
         assertThatThrownBy(() -> genreRepository.save(genreToUpdate))
-                .isInstanceOf(IllegalSaveOperationException.class)
-                .hasMessage("Same genre already exists");
+                .isInstanceOf(DuplicateKeyException.class);
     }
 
     @Test
@@ -116,4 +117,19 @@ class GenreRepositoryTest {
         assertThatThrownBy(() -> genreRepository.deleteById("2134")).isInstanceOf(IllegalDeleteOperationException.class)
                 .hasMessage("Can not delete genre because exists book with this genre");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldUpdateNameAndReturnPreviousGenre() {
+        Optional<Genre> previous = genreRepository.updateName("2134", "epic novel");
+
+        assertThat(previous).contains(new Genre("2134", "novel"));
+        assertThat(mongoTemplate.findById("2134", Genre.class)).isEqualTo(new Genre("2134", "epic novel"));
+    }
+
+    @Test
+    void shouldNotUpdateGenreNameToExistingOne() {
+        assertThatThrownBy(() -> genreRepository.updateName("2134", "poetry"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.otus.istyazhkina.library.repository.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@ActiveProfiles("reactive")
+class ReactiveBookRepositoryTest {
+
+    @Autowired
+    private ReactiveBookRepository bookRepository;
+
+    @Autowired
+    private ReactiveCommentRepository commentRepository;
+
+    @Test
+    void shouldReturnBookForExistingId() {
+        StepVerifier.create(bookRepository.findById("45632"))
+                .assertNext(book -> assertThat(book.getTitle()).isEqualTo("War and Peace"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnBooksPageAfterProvidedId() {
+        StepVerifier.create(bookRepository.findAllByIdGreaterThan("45632", PageRequest.of(0, 1, Sort.by("id"))))
+                .assertNext(book -> assertThat(book.getId()).isEqualTo("45633"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnCommentsPageByBookId() {
+        StepVerifier.create(commentRepository.findAllByBookId("45634", PageRequest.of(0, 1, Sort.by("id"))).map(Comment::getId))
+                .expectNext("9088")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnCommentsPageAfterProvidedId() {
+        StepVerifier.create(commentRepository.findAllByBookIdAndIdGreaterThan("45634", "9088", PageRequest.of(0, 50, Sort.by("id")))
+                        .map(Comment::getId))
+                .expectNext("9089")
+                .verifyComplete();
+    }
+}
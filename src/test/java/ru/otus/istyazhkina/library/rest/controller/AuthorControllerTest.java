@@ -47,6 +47,15 @@ class AuthorControllerTest {
                 .andExpect(content().json(arrayJsonContent));
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnAuthorSuggestionsByPrefix() throws Exception {
+        when(authorService.suggestAuthors("tol", 5)).thenReturn(List.of(author));
+        mockMvc.perform(get("/api/authors/suggest").param("prefix", "tol").param("limit", "5"))
+                .andExpect(status().is(200))
+                .andExpect(content().json(arrayJsonContent));
+    }
+
     @Test
     @WithMockUser
     void shouldReturnAuthorById() throws Exception {
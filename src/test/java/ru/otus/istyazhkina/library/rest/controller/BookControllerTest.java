@@ -4,26 +4,40 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.domain.rest.AuthorDTO;
+import ru.otus.istyazhkina.library.domain.rest.BookDTO;
+import ru.otus.istyazhkina.library.domain.rest.GenreDTO;
 import ru.otus.istyazhkina.library.rest.AppExceptionHandler;
 import ru.otus.istyazhkina.library.security.SecurityConfiguration;
-import ru.otus.istyazhkina.library.service.AuthorService;
 import ru.otus.istyazhkina.library.service.BookService;
-import ru.otus.istyazhkina.library.service.GenreService;
 
 import java.util.List;
-
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookController.class)
@@ -37,23 +51,48 @@ class BookControllerTest {
     @Autowired
     private BookService bookService;
 
-    @Autowired
-    private AuthorService authorService;
-
-    @Autowired
-    private GenreService genreService;
-
     private static final Book book = new Book("1", "Anna Karenina", new Author("1", "Lev", "Tolstoy"), new Genre("1", "novel"));
-    private static final String arrayJsonContent = "[{\"id\":\"1\",\"title\":\"Anna Karenina\",\"authorDTO\":{\"id\":\"1\",\"name\":\"Lev\",\"surname\":\"Tolstoy\"},\"genreDTO\":{\"id\":\"1\",\"name\":\"novel\"}}]";
+    private static final BookDTO bookListItem = new BookDTO("1", "Anna Karenina", new AuthorDTO(null, "Lev", "Tolstoy"), new GenreDTO(null, "novel"));
+    private static final String listItemsJson = "[{\"id\":\"1\",\"title\":\"Anna Karenina\",\"authorDTO\":{\"name\":\"Lev\",\"surname\":\"Tolstoy\"},\"genreDTO\":{\"name\":\"novel\"}}]";
     private static final String bookJson = "{\"id\":\"1\",\"title\":\"Anna Karenina\",\"authorDTO\":{\"id\":\"1\",\"name\":\"Lev\",\"surname\":\"Tolstoy\"},\"genreDTO\":{\"id\":\"1\",\"name\":\"novel\"}}";
 
     @Test
     @WithMockUser
     void shouldReturnBooksList() throws Exception {
-        when(bookService.getAllBooks()).thenReturn(List.of(book));
+        when(bookService.getBooksPage(null, 50)).thenReturn(new SliceImpl<>(List.of(bookListItem)));
         mockMvc.perform(get("/api/books"))
                 .andExpect(status().is(200))
-                .andExpect(content().json(arrayJsonContent));
+                .andExpect(header().doesNotExist(BookController.NEXT_CURSOR_HEADER))
+                .andExpect(content().json(listItemsJson));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnNextCursorIfMoreBooksExist() throws Exception {
+        when(bookService.getBooksPage("0", 1)).thenReturn(new SliceImpl<>(List.of(bookListItem), PageRequest.of(0, 1), true));
+        mockMvc.perform(get("/api/books").param("after", "0").param("limit", "1"))
+                .andExpect(status().is(200))
+                .andExpect(header().string(BookController.NEXT_CURSOR_HEADER, "1"))
+                .andExpect(content().json(listItemsJson));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldExportBooksAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookDTO> consumer = invocation.getArgument(0);
+            consumer.accept(BookDTO.toDto(book));
+            return null;
+        }).when(bookService).exportBooks(any());
+
+        MvcResult result = mockMvc.perform(get("/api/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(NdjsonBodies.EXPORT_TIMEOUT);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(allOf(containsString("\"title\":\"Anna Karenina\""), endsWith("}\n"))));
     }
 
     @Test
@@ -70,9 +109,7 @@ class BookControllerTest {
     void shouldCreateNewBookForAdminUser() throws Exception {
         Book newBook = new Book("4", "War and Peace", new Author("1", "Lev", "Tolstoy"), new Genre("1", "novel"));
         String newBookJson = "{\"id\":\"4\",\"title\":\"War and Peace\",\"authorDTO\":{\"id\":\"1\",\"name\":\"Lev\",\"surname\":\"Tolstoy\"},\"genreDTO\":{\"id\":\"1\",\"name\":\"novel\"}}";
-        when(authorService.getAuthorById("1")).thenReturn(new Author("1", "Lev", "Tolstoy"));
-        when(genreService.getGenreById("1")).thenReturn(new Genre("1", "novel"));
-        when(bookService.addNewBook(new Book("War and Peace", new Author("1", "Lev", "Tolstoy"), new Genre("1", "novel")))).thenReturn(newBook);
+        when(bookService.addNewBook("War and Peace", "1", "1")).thenReturn(newBook);
         mockMvc.perform(post("/books/add")
                 .contentType("application/json;charset=utf-8")
                 .content("{\"title\":\"War and Peace\",\"authorDTO\":{\"id\":\"1\",\"name\":\"Lev\",\"surname\":\"Tolstoy\"},\"genreDTO\":{\"id\":\"1\",\"name\":\"novel\"}}"))
@@ -92,9 +129,7 @@ class BookControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldUpdateBookForAdminUser() throws Exception {
-        when(bookService.updateBook("1", new Book("Anna Karenina", new Author("1", "Lev", "Tolstoy"), new Genre("1", "novel")))).thenReturn(book);
-        when(authorService.getAuthorById("1")).thenReturn(new Author("1", "Lev", "Tolstoy"));
-        when(genreService.getGenreById("1")).thenReturn(new Genre("1", "novel"));
+        when(bookService.updateBook("1", "Anna Karenina", "1", "1")).thenReturn(book);
         mockMvc.perform(put("/books/1")
                 .contentType("application/json;charset=utf-8")
                 .content(bookJson))
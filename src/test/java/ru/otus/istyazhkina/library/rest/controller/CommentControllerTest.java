@@ -0,0 +1,109 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.otus.istyazhkina.library.domain.rest.CommentDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.rest.AppExceptionHandler;
+import ru.otus.istyazhkina.library.security.SecurityConfiguration;
+import ru.otus.istyazhkina.library.service.CommentService;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = CommentController.class)
+@Import({CommentController.class, AppExceptionHandler.class})
+@ContextConfiguration(classes = {SecurityConfiguration.class, ControllerTestConfiguration.class})
+class CommentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CommentService commentService;
+
+    private static final CommentDTO comment = new CommentDTO("9088", "Story about hobbit Bilbo Baggins", "45634");
+    private static final String commentJson = "{\"id\":\"9088\",\"content\":\"Story about hobbit Bilbo Baggins\",\"bookId\":\"45634\"}";
+
+    @Test
+    @WithMockUser
+    void shouldReturnBookCommentsWithNextCursor() throws Exception {
+        when(commentService.getCommentsPage("45634", null, 1)).thenReturn(new SliceImpl<>(List.of(comment), PageRequest.of(0, 1), true));
+        when(commentService.countComments("45634")).thenReturn(2L);
+        mockMvc.perform(get("/api/books/45634/comments").param("limit", "1"))
+                .andExpect(status().is(200))
+                .andExpect(header().string(CommentController.TOTAL_COUNT_HEADER, "2"))
+                .andExpect(header().string(BookController.NEXT_CURSOR_HEADER, "9088"))
+                .andExpect(content().json("[" + commentJson + "]"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnLastPageOfBookCommentsWithoutCursor() throws Exception {
+        when(commentService.getCommentsPage("45634", "9088", 50)).thenReturn(new SliceImpl<>(List.of()));
+        mockMvc.perform(get("/api/books/45634/comments").param("after", "9088"))
+                .andExpect(status().is(200))
+                .andExpect(header().doesNotExist(BookController.NEXT_CURSOR_HEADER))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnBadRequestForCommentsOfMissingBook() throws Exception {
+        when(commentService.getCommentsPage("1", null, 50)).thenThrow(new DataOperationException("Book by provided id is not found"));
+        mockMvc.perform(get("/api/books/1/comments"))
+                .andExpect(status().is(400));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldExportCommentsAsNdjsonForAdminUser() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CommentDTO> consumer = invocation.getArgument(0);
+            consumer.accept(comment);
+            return null;
+        }).when(commentService).exportComments(any());
+
+        MvcResult result = mockMvc.perform(get("/api/comments/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(endsWith("\"bookId\":\"45634\"}\n")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldNotExportCommentsForSimpleUser() throws Exception {
+        mockMvc.perform(get("/api/comments/export"))
+                .andExpect(status().is(403));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldNotDeleteCommentForSimpleUser() throws Exception {
+        mockMvc.perform(delete("/comments/9088"))
+                .andExpect(status().is(403));
+    }
+}
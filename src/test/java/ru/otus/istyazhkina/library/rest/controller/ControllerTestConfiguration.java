@@ -6,9 +6,13 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.service.AuthorService;
 import ru.otus.istyazhkina.library.service.BookService;
+import ru.otus.istyazhkina.library.service.CommentService;
 import ru.otus.istyazhkina.library.service.GenreService;
+import ru.otus.istyazhkina.library.service.ImportService;
+import ru.otus.istyazhkina.library.service.SearchService;
 
 import static org.mockito.Mockito.mock;
 
@@ -31,6 +35,26 @@ public class ControllerTestConfiguration {
         return mock(BookService.class);
     }
 
+    @Bean
+    public CommentService commentService() {
+        return mock(CommentService.class);
+    }
+
+    @Bean
+    public ImportService importService() {
+        return mock(ImportService.class);
+    }
+
+    @Bean
+    public SearchService searchService() {
+        return mock(SearchService.class);
+    }
+
+    @Bean
+    public CatalogVersions catalogVersions() {
+        return new CatalogVersions();
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         UserDetails userDetails = User.builder()
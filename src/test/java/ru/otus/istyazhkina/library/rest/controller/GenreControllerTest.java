@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.otus.istyazhkina.library.catalog.CatalogVersions;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
 import ru.otus.istyazhkina.library.exception.DataOperationException;
 import ru.otus.istyazhkina.library.rest.AppExceptionHandler;
@@ -15,12 +16,16 @@ import ru.otus.istyazhkina.library.service.GenreService;
 
 import java.util.List;
 
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = GenreController.class)
@@ -34,6 +39,9 @@ class GenreControllerTest {
     @Autowired
     private GenreService genreService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     private static final Genre genre = new Genre("1", "novel");
     private static final String arrayJsonContent = "[{\"id\":\"1\",\"name\":\"novel\"}]";
     private static final String genreJson = "{\"id\":\"1\",\"name\":\"novel\"}";
@@ -48,6 +56,45 @@ class GenreControllerTest {
                 .andExpect(content().json(arrayJsonContent));
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnBookCountOfGenre() throws Exception {
+        when(genreService.countBooks("1")).thenReturn(3L);
+        mockMvc.perform(get("/api/genres/1/books/count"))
+                .andExpect(status().is(200))
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldAnswerNotModifiedWithoutQueryingGenresUntilTheyChange() throws Exception {
+        clearInvocations(genreService);
+        when(genreService.getAllGenres()).thenReturn(List.of(genre));
+        String eTag = mockMvc.perform(get("/api/genres"))
+                .andExpect(status().is(200))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/genres").header("If-None-Match", eTag))
+                .andExpect(status().is(304));
+        verify(genreService, times(1)).getAllGenres();
+
+        catalogVersions.bump(CatalogVersions.Catalog.GENRES);
+        mockMvc.perform(get("/api/genres").header("If-None-Match", eTag))
+                .andExpect(status().is(200))
+                .andExpect(content().json(arrayJsonContent));
+        verify(genreService, times(2)).getAllGenres();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldNotLetClientsStoreEmptyGenresList() throws Exception {
+        when(genreService.getAllGenres()).thenReturn(List.of());
+        mockMvc.perform(get("/api/genres"))
+                .andExpect(status().is(200))
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
     @Test
     @WithMockUser
     void shouldReturnGenreById() throws Exception {
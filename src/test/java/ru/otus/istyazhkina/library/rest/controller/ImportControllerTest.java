@@ -0,0 +1,55 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.otus.istyazhkina.library.domain.rest.ImportReportDTO;
+import ru.otus.istyazhkina.library.rest.AppExceptionHandler;
+import ru.otus.istyazhkina.library.security.SecurityConfiguration;
+import ru.otus.istyazhkina.library.service.ImportFormat;
+import ru.otus.istyazhkina.library.service.ImportService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ImportController.class)
+@Import({ImportController.class, AppExceptionHandler.class})
+@ContextConfiguration(classes = {SecurityConfiguration.class, ControllerTestConfiguration.class})
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImportService importService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturnImportReport() throws Exception {
+        ImportReportDTO report = new ImportReportDTO();
+        report.rowRead();
+        report.rowRead();
+        report.rowsImported(1);
+        report.rowFailed(3, "Already exists");
+        when(importService.importGenres(any(), eq(ImportFormat.CSV))).thenReturn(report);
+
+        mockMvc.perform(post("/genres/import").contentType("text/csv").content("name\nnovel\nnovel\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"total\":2,\"imported\":1,\"failed\":1,\"errors\":[{\"line\":3,\"message\":\"Already exists\"}]}"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldForbidImportForNonAdmin() throws Exception {
+        mockMvc.perform(post("/books/import").contentType("application/x-ndjson").content("{}"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.otus.istyazhkina.library.rest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.otus.istyazhkina.library.domain.rest.SearchHitDTO;
+import ru.otus.istyazhkina.library.domain.rest.SearchResultDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.rest.AppExceptionHandler;
+import ru.otus.istyazhkina.library.security.SecurityConfiguration;
+import ru.otus.istyazhkina.library.service.SearchService;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = SearchController.class)
+@Import({SearchController.class, AppExceptionHandler.class})
+@ContextConfiguration(classes = {SecurityConfiguration.class, ControllerTestConfiguration.class})
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Test
+    @WithMockUser
+    void shouldReturnSearchResultsForRequestedTypes() throws Exception {
+        SearchHitDTO hit = new SearchHitDTO(SearchHitDTO.Type.BOOK, "45634", "45634", "The Hobbit — John Tolkien",
+                "The <em>Hobbit</em> — John Tolkien", 2.5);
+        when(searchService.search("hobbit", Set.of(SearchHitDTO.Type.BOOK), 1, 5))
+                .thenReturn(new SearchResultDTO("hobbit", 1, 5, false, List.of(hit)));
+
+        mockMvc.perform(get("/api/search").param("q", "hobbit").param("type", "BOOK").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"query\":\"hobbit\",\"page\":1,\"size\":5,\"hasNext\":false,"
+                        + "\"hits\":[{\"type\":\"BOOK\",\"id\":\"45634\",\"highlight\":\"The <em>Hobbit</em> — John Tolkien\",\"score\":2.5}]}"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchAllTypesByDefault() throws Exception {
+        when(searchService.search(eq("tolstoy"), eq(EnumSet.allOf(SearchHitDTO.Type.class)), anyInt(), anyInt()))
+                .thenReturn(new SearchResultDTO("tolstoy", 0, 20, false, List.of()));
+
+        mockMvc.perform(get("/api/search").param("q", "tolstoy"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"query\":\"tolstoy\",\"hits\":[]}"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnBadRequestForBlankQuery() throws Exception {
+        when(searchService.search(eq(" "), any(), anyInt(), anyInt()))
+                .thenThrow(new DataOperationException("Search query must not be empty"));
+
+        mockMvc.perform(get("/api/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.otus.istyazhkina.library.rest.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldRejectWhenLimitIsReached() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, THRESHOLD);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldIncreaseLimitForFastRequestsUnderLoad() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, THRESHOLD);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBackOffForSlowOrFailedRequests() {
+        AimdLimiter limiter = new AimdLimiter(8, 1, 10, 0.5, THRESHOLD);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotGoBelowMinLimit() {
+        AimdLimiter limiter = new AimdLimiter(2, 2, 10, 0.5, THRESHOLD);
+        limiter.tryAcquire();
+
+        limiter.release(TimeUnit.SECONDS.toNanos(1), true);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.otus.istyazhkina.library.rest.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void shouldReturnServiceUnavailableWithRetryAfterWhenLimitIsReached() throws Exception {
+        ConcurrencyLimitProperties.Group books = new ConcurrencyLimitProperties.Group();
+        books.setPattern("/api/books/**");
+        books.setInitialLimit(1);
+        books.setRetryAfter(Duration.ofSeconds(5));
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Map.of("books", books));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/books/1"), rejected, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), new MockHttpServletResponse(), chain);
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+
+    @Test
+    void shouldPassRequestsOutsideConfiguredGroups() throws Exception {
+        ConcurrencyLimitProperties.Group books = new ConcurrencyLimitProperties.Group();
+        books.setPattern("/api/books/**");
+        books.setInitialLimit(1);
+        books.setMinLimit(1);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Map.of("books", books));
+
+        MockHttpServletResponse genres = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/genres"), genres, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), new MockHttpServletResponse(), chain);
+
+        assertThat(genres.getStatus()).isEqualTo(200);
+    }
+}
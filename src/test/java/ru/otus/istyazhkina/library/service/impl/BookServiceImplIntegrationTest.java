@@ -2,16 +2,26 @@ package ru.otus.istyazhkina.library.service.impl;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
 import ru.otus.istyazhkina.library.domain.entity.Author;
 import ru.otus.istyazhkina.library.domain.entity.Book;
 import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
 import ru.otus.istyazhkina.library.repository.AuthorRepository;
 import ru.otus.istyazhkina.library.repository.GenreRepository;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 @SpringBootTest
 @Import(BookServiceImpl.class)
@@ -26,18 +36,95 @@ class BookServiceImplIntegrationTest {
     @Autowired
     private BookServiceImpl bookService;
 
+    @Autowired
+    private CatalogCounters catalogCounters;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
-    void shouldAddAuthorAndGenreAndBookWhileInsertIfTheyNotExist() {
+    void shouldAddBookOfNewlyCreatedAuthorAndGenre() throws DataOperationException {
         assertThat(genreRepository.findByName("play")).isEmpty();
         assertThat(authorRepository.findByNameAndSurname("Anton", "Chekhov")).isEmpty();
+        Author author = authorRepository.save(new Author("Anton", "Chekhov"));
+        Genre genre = genreRepository.save(new Genre("play"));
 
-        Book book = bookService.addNewBook(new Book("Seagull", new Author("Anton", "Chekhov"), new Genre("play")));
-        assertThat(genreRepository.findByName("play")).isNotNull();
-        assertThat(authorRepository.findByNameAndSurname("Anton", "Chekhov")).isNotNull();
+        Book book = bookService.addNewBook("Seagull", author.getId(), genre.getId());
         assertThat(book.getTitle()).isEqualTo("Seagull");
-        assertThat(book.getGenre().getName()).isEqualTo("play");
-        assertThat(book.getAuthor().getName()).isEqualTo("Anton");
-        assertThat(book.getAuthor().getSurname()).isEqualTo("Chekhov");
+        assertThat(book.getGenre()).isEqualTo(genre);
+        assertThat(book.getAuthor()).isEqualTo(author);
+        assertThat(bookService.getBooksByTitle("Seagull")).containsExactly(book);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldResolveAuthorAndGenreByIdWhileAddingBook() throws DataOperationException {
+        Book book = bookService.addNewBook("Anna Karenina", "12345", "2134");
+
+        assertThat(book.getId()).isNotNull();
+        assertThat(book.getAuthor()).isEqualTo(new Author("12345", "Lev", "Tolstoy"));
+        assertThat(book.getGenre()).isEqualTo(new Genre("2134", "novel"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldAddBookWhileApplicationTaskExecutorIsSaturated() {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // the queue is unbounded, so once the core threads are busy nothing else submitted to the pool runs
+            for (int i = 0; i < applicationTaskExecutor.getCorePoolSize(); i++) {
+                applicationTaskExecutor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            Book book = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> bookService.addNewBook("Anna Karenina", "12345", "2134"));
+            assertThat(book.getAuthor()).isEqualTo(new Author("12345", "Lev", "Tolstoy"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldFailToAddBookWithUnknownAuthor() {
+        assertThatThrownBy(() -> bookService.addNewBook("Anna Karenina", "99999", "2134"))
+                .isInstanceOf(DataOperationException.class)
+                .hasMessage("Author by provided ID not found");
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldResolveAuthorAndGenreByIdWhileUpdatingBook() throws DataOperationException {
+        Book book = bookService.updateBook("45633", "Christmas Poems", "12346", "2136");
+
+        assertThat(book.getId()).isEqualTo("45633");
+        assertThat(book.getGenre()).isEqualTo(new Genre("2136", "fantasy"));
+        assertThat(bookService.getBooksByTitle("Christmas Poems")).containsExactly(book);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldKeepBookCountsOfAuthorsAndGenres() throws DataOperationException {
+        Book book = bookService.addNewBook("Anna Karenina", "12345", "2134");
+        assertThat(catalogCounters.bookCountOfAuthor("12345")).isEqualTo(2);
+        assertThat(catalogCounters.bookCountOfGenre("2134")).isEqualTo(2);
+
+        bookService.updateBook(book.getId(), "The Duel", "12348", "2134");
+        assertThat(catalogCounters.bookCountOfAuthor("12345")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfAuthor("12348")).isEqualTo(1);
+        assertThat(catalogCounters.bookCountOfGenre("2134")).isEqualTo(2);
+
+        bookService.deleteBookById(book.getId());
+        assertThat(catalogCounters.bookCountOfAuthor("12348")).isZero();
+        assertThat(catalogCounters.bookCountOfGenre("2134")).isEqualTo(1);
+        assertThatThrownBy(() -> bookService.deleteBookById(book.getId()))
+                .isInstanceOf(DataOperationException.class);
     }
 }
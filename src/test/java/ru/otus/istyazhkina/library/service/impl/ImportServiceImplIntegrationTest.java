@@ -0,0 +1,71 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.catalog.CatalogCounters;
+import ru.otus.istyazhkina.library.domain.rest.ImportReportDTO;
+import ru.otus.istyazhkina.library.repository.AuthorRepository;
+import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.service.ImportFormat;
+import ru.otus.istyazhkina.library.service.ImportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ImportServiceImplIntegrationTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CatalogCounters catalogCounters;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldImportBooksFromCsvAndReportUnknownReferences() throws IOException {
+        ImportReportDTO report = importService.importBooks(input(
+                "title,authorId,genreId\n" +
+                        "\"Anna Karenina\",12345,2134\n" +
+                        "\"Resurrection, a novel\",12345,2134\n" +
+                        "Unknown,99999,2134\n"), ImportFormat.CSV);
+
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).containsExactly(new ImportReportDTO.RowError(4, "Author by provided ID not found"));
+        assertThat(bookRepository.findByTitle("Resurrection, a novel")).hasSize(1);
+        assertThat(catalogCounters.bookCountOfAuthor("12345")).isEqualTo(3);
+        assertThat(catalogCounters.bookCountOfGenre("2134")).isEqualTo(3);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldImportAuthorsFromNdjsonAndReportDuplicates() throws IOException {
+        ImportReportDTO report = importService.importAuthors(input(
+                "{\"name\":\"Anton\",\"surname\":\"Chekhov\"}\n" +
+                        "{\"name\":\"Lev\",\"surname\":\"Tolstoy\"}\n" +
+                        "not json\n"), ImportFormat.NDJSON);
+
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowError::getLine).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(authorRepository.findByNameAndSurname("Anton", "Chekhov")).isPresent();
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.otus.istyazhkina.library.domain.PropagationTask;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+import ru.otus.istyazhkina.library.domain.entity.Book;
+import ru.otus.istyazhkina.library.domain.entity.Comment;
+import ru.otus.istyazhkina.library.domain.entity.Genre;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.repository.BookRepository;
+import ru.otus.istyazhkina.library.repository.CommentRepository;
+import ru.otus.istyazhkina.library.service.AuthorService;
+import ru.otus.istyazhkina.library.service.BookService;
+import ru.otus.istyazhkina.library.service.GenreService;
+import ru.otus.istyazhkina.library.service.PropagationService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PropagationServiceImplIntegrationTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PropagationService propagationService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldPropagateAuthorRenameToBooks() throws DataOperationException {
+        authorService.updateAuthor("12345", new Author("Leo", "Tolstoy"));
+
+        assertThat(bookRepository.findById("45632").get().getAuthor()).isEqualTo(new Author("12345", "Leo", "Tolstoy"));
+        assertThat(propagationService.getRecentTasks()).first()
+                .matches(task -> task.getStatus() == PropagationTask.Status.DONE)
+                .matches(task -> task.getModified() == 1);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldPropagateGenreRenameToBooks() throws DataOperationException {
+        genreService.updateGenre("2134", new Genre("epic novel"));
+
+        assertThat(bookRepository.findById("45632").get().getGenre()).isEqualTo(new Genre("2134", "epic novel"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldPropagateBookTitleToComments() throws DataOperationException {
+        Book book = bookRepository.findById("45634").get();
+        bookService.updateBook("45634", new Book("45634", "The Hobbit, or There and Back Again", book.getAuthor(), book.getGenre()));
+
+        assertThat(commentRepository.findAllByBookId("45634"))
+                .hasSize(2)
+                .extracting(Comment::getBookTitle)
+                .containsOnly("The Hobbit, or There and Back Again");
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldBeIdempotentOnRepeatedPropagation() {
+        Author author = new Author("12345", "Lev", "Tolstoy");
+        PropagationTask task = propagationService.propagateAuthor(author);
+
+        assertThat(task.getStatus()).isEqualTo(PropagationTask.Status.DONE);
+        assertThat(task.getModified()).isZero();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.otus.istyazhkina.library.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.otus.istyazhkina.library.domain.rest.SearchHitDTO;
+import ru.otus.istyazhkina.library.domain.rest.SearchResultDTO;
+import ru.otus.istyazhkina.library.exception.DataOperationException;
+import ru.otus.istyazhkina.library.service.SearchService;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class SearchServiceImplIntegrationTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Test
+    void shouldRankBookTitleAboveCommentAndHighlightMatches() throws DataOperationException {
+        SearchResultDTO result = searchService.search("hobbit", EnumSet.allOf(SearchHitDTO.Type.class), 0, 10);
+
+        assertThat(result.getHits())
+                .extracting(SearchHitDTO::getType, SearchHitDTO::getId, SearchHitDTO::getBookId)
+                .containsExactly(
+                        tuple(SearchHitDTO.Type.BOOK, "45634", "45634"),
+                        tuple(SearchHitDTO.Type.COMMENT, "9088", "45634"));
+        assertThat(result.getHits().get(0).getHighlight()).isEqualTo("The <em>Hobbit</em> — John Tolkien");
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    void shouldFindBooksAndAuthorsByAuthorSurname() throws DataOperationException {
+        SearchResultDTO result = searchService.search("Tolstoy", EnumSet.allOf(SearchHitDTO.Type.class), 0, 10);
+
+        assertThat(result.getHits())
+                .extracting(SearchHitDTO::getType, SearchHitDTO::getId)
+                .containsExactlyInAnyOrder(
+                        tuple(SearchHitDTO.Type.BOOK, "45632"),
+                        tuple(SearchHitDTO.Type.AUTHOR, "12345"));
+    }
+
+    @Test
+    void shouldPageThroughMergedHits() throws DataOperationException {
+        SearchResultDTO firstPage = searchService.search("hobbit", EnumSet.allOf(SearchHitDTO.Type.class), 0, 1);
+        SearchResultDTO secondPage = searchService.search("hobbit", EnumSet.allOf(SearchHitDTO.Type.class), 1, 1);
+
+        assertThat(firstPage.isHasNext()).isTrue();
+        assertThat(firstPage.getHits()).extracting(SearchHitDTO::getId).containsExactly("45634");
+        assertThat(secondPage.isHasNext()).isFalse();
+        assertThat(secondPage.getHits()).extracting(SearchHitDTO::getId).containsExactly("9088");
+    }
+
+    @Test
+    void shouldSearchOnlyRequestedTypes() throws DataOperationException {
+        SearchResultDTO result = searchService.search("hobbit", Set.of(SearchHitDTO.Type.COMMENT), 0, 10);
+
+        assertThat(result.getHits()).extracting(SearchHitDTO::getType).containsOnly(SearchHitDTO.Type.COMMENT);
+    }
+
+    @Test
+    void shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> searchService.search("  ", EnumSet.allOf(SearchHitDTO.Type.class), 0, 10))
+                .isInstanceOf(DataOperationException.class);
+    }
+
+    @Test
+    void shouldRejectPageOutOfRange() {
+        assertThatThrownBy(() -> searchService.search("hobbit", EnumSet.allOf(SearchHitDTO.Type.class), 21, 10))
+                .isInstanceOf(DataOperationException.class)
+                .hasMessage("Search page must be between 0 and 20");
+        assertThatThrownBy(() -> searchService.search("hobbit", EnumSet.allOf(SearchHitDTO.Type.class), -1, 10))
+                .isInstanceOf(DataOperationException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.otus.istyazhkina.library.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.otus.istyazhkina.library.domain.entity.Author;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    private PrefixIndex<Author> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex<>(Author::getId,
+                author -> List.of(author.getName() + " " + author.getSurname(), author.getSurname() + " " + author.getName()));
+        index.replaceAll(List.of(
+                new Author("1", "Lev", "Tolstoy"),
+                new Author("2", "Aleksey", "Tolstoy"),
+                new Author("3", "Joseph", "Brodskiy")));
+    }
+
+    @Test
+    void shouldFindByNameOrSurnamePrefixIgnoringCaseAndDiacritics() {
+        assertThat(index.find("TOLST", 10)).extracting(Author::getId).containsExactly("2", "1");
+        assertThat(index.find("jos", 10)).extracting(Author::getId).containsExactly("3");
+        assertThat(index.find("Brodskíy  Jo", 10)).extracting(Author::getId).containsExactly("3");
+    }
+
+    @Test
+    void shouldReturnEachValueOnceAndRespectLimit() {
+        index.put(new Author("4", "Tolstoy", "Tolstoy"));
+
+        assertThat(index.find("tolstoy", 10)).extracting(Author::getId).containsExactly("2", "1", "4");
+        assertThat(index.find("t", 2)).hasSize(2);
+    }
+
+    @Test
+    void shouldReplaceKeysOfUpdatedValue() {
+        index.put(new Author("1", "Leo", "Tolstoi"));
+
+        assertThat(index.find("lev", 10)).isEmpty();
+        assertThat(index.find("leo", 10)).extracting(Author::getId).containsExactly("1");
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldRemoveAllKeysOfValue() {
+        index.remove("3");
+
+        assertThat(index.find("jo", 10)).isEmpty();
+        assertThat(index.find("br", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnNothingForBlankPrefix() {
+        assertThat(index.find("  ", 10)).isEmpty();
+    }
+}